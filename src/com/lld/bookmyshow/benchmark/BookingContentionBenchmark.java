@@ -0,0 +1,95 @@
+package com.lld.bookmyshow.benchmark;
+
+import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.enums.SeatType;
+import com.lld.bookmyshow.models.*;
+import com.lld.bookmyshow.services.BookingService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures createBooking + cancelBooking throughput as thread count grows.
+ * Each thread books for its own show (different cities), so with per-seat locking
+ * throughput should rise with cores; with a service-wide lock it stays flat.
+ *
+ * Run: java com.lld.bookmyshow.benchmark.BookingContentionBenchmark [secondsPerRun] [maxThreads]
+ */
+public class BookingContentionBenchmark {
+    private static final int SEATS_PER_SCREEN = 200;
+    private static final int SEATS_PER_BOOKING = 2;
+
+    public static void main(String[] args) throws InterruptedException {
+        int secondsPerRun = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : cores;
+
+        System.out.println("=== Booking Contention Benchmark (" + cores + " cores) ===");
+        System.out.println("threads  ops/sec");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            long opsPerSec = run(threads, secondsPerRun);
+            System.out.printf("%7d  %,d%n", threads, opsPerSec);
+        }
+    }
+
+    private static long run(int threads, int seconds) throws InterruptedException {
+        BookingService bookingService = new BookingService();
+        Movie movie = new Movie("MOV-B", "Benchmark", "", Duration.ofMinutes(120), "Hindi", "Drama", 7.0);
+        City[] cities = City.values();
+
+        List<Show> shows = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Theatre theatre = new Theatre("TH-B" + t, "Theatre " + t, "", cities[t % cities.length]);
+            Screen screen = new Screen("SCR-B" + t, "Screen " + t);
+            for (int s = 0; s < SEATS_PER_SCREEN; s++) {
+                screen.addSeat(new Seat(screen.getScreenId() + "-" + s, s / 20 + 1, s % 20 + 1, SeatType.REGULAR));
+            }
+            theatre.addScreen(screen);
+            LocalDateTime start = LocalDateTime.now().plusHours(2);
+            Show show = new Show("SH-B" + t, movie, screen, start, start.plusHours(2));
+            show.initializeSeats();
+            shows.add(show);
+        }
+
+        LongAdder ops = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            Show show = shows.get(t);
+            User user = new User("USR-B" + t, "User " + t, "", "");
+            Thread worker = new Thread(() -> {
+                List<ShowSeat> seats = show.getShowSeats();
+                int next = 0;
+                ready.countDown();
+                while (running.get()) {
+                    List<ShowSeat> request = new ArrayList<>(SEATS_PER_BOOKING);
+                    for (int i = 0; i < SEATS_PER_BOOKING; i++) {
+                        request.add(seats.get(next));
+                        next = (next + 1) % seats.size();
+                    }
+                    Booking booking = bookingService.createBooking(user, show, request);
+                    bookingService.cancelBooking(booking.getId());
+                    ops.increment();
+                }
+                done.countDown();
+            });
+            worker.start();
+        }
+
+        ready.await();
+        long startNanos = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        done.await();
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        return ops.sum() * 1_000_000_000L / elapsedNanos;
+    }
+}
@@ -0,0 +1,83 @@
+package com.lld.bookmyshow.benchmark;
+
+import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.enums.PaymentStatus;
+import com.lld.bookmyshow.enums.SeatType;
+import com.lld.bookmyshow.exceptions.RequestRejectedException;
+import com.lld.bookmyshow.models.*;
+import com.lld.bookmyshow.payment.PaymentPipeline;
+import com.lld.bookmyshow.payment.StubPaymentGateway;
+import com.lld.bookmyshow.services.BookingService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pushes bookings through PaymentPipeline against the stub gateway, offline.
+ * Reports payments/sec, how many batches they were applied in, and how many
+ * submissions backpressure turned away.
+ *
+ * Run: java com.lld.bookmyshow.benchmark.PaymentPipelineBenchmark [payments] [gatewayLatencyMillis]
+ */
+public class PaymentPipelineBenchmark {
+    private static final int SHOWS = 50;
+
+    public static void main(String[] args) throws InterruptedException {
+        int payments = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int latencyMillis = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        BookingService bookingService = new BookingService();
+        StubPaymentGateway gateway = new StubPaymentGateway(Duration.ofMillis(latencyMillis), 0.05);
+        PaymentPipeline pipeline = new PaymentPipeline(gateway, bookingService);
+
+        List<Show> shows = createShows(payments / SHOWS + 1);
+        User user = new User("USR-B", "Bench", "", "");
+        List<CompletableFuture<Payment>> results = new ArrayList<>(payments);
+        int rejected = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < payments; i++) {
+            Show show = shows.get(i % SHOWS);
+            Booking booking = bookingService.createBooking(user, show, List.of(show.getShowSeat(i / SHOWS)));
+            try {
+                results.add(pipeline.submit(new Payment(booking, booking.getTotalAmount(), "UPI")));
+            } catch (RequestRejectedException e) {
+                booking.expire();
+                rejected++;
+            }
+        }
+        int captured = 0;
+        for (CompletableFuture<Payment> result : results) {
+            if (result.join().getStatus() == PaymentStatus.SUCCESS) captured++;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        pipeline.shutdown();
+        gateway.shutdown();
+
+        System.out.println("=== Payment Pipeline Benchmark (gateway latency " + latencyMillis + "ms) ===");
+        System.out.printf("payments/sec: %,d%n", (long) (results.size() * 1e9 / elapsedNanos));
+        System.out.printf("captured: %,d  declined: %,d  rejected: %,d%n", captured, results.size() - captured, rejected);
+        System.out.printf("batches: %,d%n", pipeline.getBatchesApplied());
+    }
+
+    private static List<Show> createShows(int seatsPerShow) {
+        Movie movie = new Movie("MOV-P", "Benchmark", "", Duration.ofMinutes(120), "Hindi", "Drama", 7.0);
+        List<Show> shows = new ArrayList<>(SHOWS);
+        for (int t = 0; t < SHOWS; t++) {
+            Theatre theatre = new Theatre("TH-P" + t, "Theatre " + t, "", City.values()[t % City.values().length]);
+            Screen screen = new Screen("SCR-P" + t, "Screen " + t);
+            for (int s = 0; s < seatsPerShow; s++) {
+                screen.addSeat(new Seat(screen.getScreenId() + "-" + s, s / 20 + 1, s % 20 + 1, SeatType.REGULAR));
+            }
+            theatre.addScreen(screen);
+            LocalDateTime start = LocalDateTime.now().plusHours(2);
+            Show show = new Show("SH-P" + t, movie, screen, start, start.plusHours(2));
+            show.initializeSeats();
+            shows.add(show);
+        }
+        return shows;
+    }
+}
@@ -0,0 +1,8 @@
+package com.lld.bookmyshow.enums;
+
+public enum JournalEventType {
+    CREATE,
+    CONFIRM,
+    CANCEL,
+    EXPIRE
+}
@@ -0,0 +1,7 @@
+package com.lld.bookmyshow.exceptions;
+
+public class RequestRejectedException extends RuntimeException {
+    public RequestRejectedException(String message) {
+        super(message);
+    }
+}
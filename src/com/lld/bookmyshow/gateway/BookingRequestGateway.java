@@ -0,0 +1,224 @@
+package com.lld.bookmyshow.gateway;
+
+import com.lld.bookmyshow.enums.BookingStatus;
+import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.enums.SeatType;
+import com.lld.bookmyshow.exceptions.RequestRejectedException;
+import com.lld.bookmyshow.models.*;
+import com.lld.bookmyshow.services.BookMyShowService;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Concurrent request front end over BookMyShowService: one thread per request.
+ *
+ * - Admission is bounded by a semaphore. When maxInFlight requests are already running,
+ *   new ones are rejected immediately with RequestRejectedException instead of queueing.
+ * - Every request has a deadline. When it passes, the returned future fails with
+ *   TimeoutException and the request thread is interrupted. A booking that still gets
+ *   created after its caller has timed out is cancelled straight away, since nobody
+ *   will ever pay for it.
+ * - A seat-selection session (bookAndPay) holds its thread while it waits on payment;
+ *   if payment fails or the deadline passes, the held seats are released at once rather
+ *   than waiting for hold expiry.
+ *
+ * Threads: on a JDK with virtual threads, each request gets one (found reflectively, so
+ * this still builds on 17). Otherwise it falls back to daemon platform threads with a
+ * small stack, and the default maxInFlight drops to a few hundred to match.
+ */
+public class BookingRequestGateway {
+    private static final Logger LOG = Logger.getLogger(BookingRequestGateway.class.getName());
+    private static final Method VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+    public static final int VIRTUAL_THREAD_MAX_IN_FLIGHT = 50_000;
+    public static final int PLATFORM_THREAD_MAX_IN_FLIGHT = 256;
+    public static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(10);
+    private static final long PLATFORM_STACK_SIZE = 256 * 1024;
+
+    private final BookMyShowService service;
+    private final int maxInFlight;
+    private final Duration defaultDeadline;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    /**
+     * Sizes maxInFlight from the executor actually built: VIRTUAL_THREAD_MAX_IN_FLIGHT
+     * on virtual threads, PLATFORM_THREAD_MAX_IN_FLIGHT on the platform-thread fallback.
+     */
+    public BookingRequestGateway(BookMyShowService service) {
+        this(service, newRequestExecutor(), DEFAULT_DEADLINE);
+    }
+
+    public BookingRequestGateway(BookMyShowService service, int maxInFlight, Duration defaultDeadline) {
+        this(service, newRequestExecutor(), maxInFlight, defaultDeadline);
+    }
+
+    private BookingRequestGateway(BookMyShowService service, ExecutorService executor, Duration defaultDeadline) {
+        this(service, executor, executor instanceof ThreadPoolExecutor
+                ? PLATFORM_THREAD_MAX_IN_FLIGHT : VIRTUAL_THREAD_MAX_IN_FLIGHT, defaultDeadline);
+    }
+
+    private BookingRequestGateway(BookMyShowService service, ExecutorService executor,
+                                  int maxInFlight, Duration defaultDeadline) {
+        this.service = service;
+        this.maxInFlight = maxInFlight;
+        this.defaultDeadline = defaultDeadline;
+        this.permits = new Semaphore(maxInFlight);
+        this.executor = executor;
+    }
+
+    // --- Search ---
+    public CompletableFuture<List<Movie>> searchMovies(String keyword) {
+        return submit(() -> service.searchMovies(keyword), defaultDeadline);
+    }
+
+    public CompletableFuture<List<Show>> getShowsForMovie(Movie movie, City city) {
+        return submit(() -> service.getShowsForMovie(movie, city), defaultDeadline);
+    }
+
+    // --- Booking ---
+    public CompletableFuture<Booking> bookSeats(User user, Show show, List<ShowSeat> seats) {
+        return submit(() -> service.bookSeats(user, show, seats), defaultDeadline, this::cancelIfPending);
+    }
+
+    public CompletableFuture<Booking> bookBestAvailable(User user, Show show, SeatType seatType, int count) {
+        return submit(() -> service.bookBestAvailable(user, show, seatType, count), defaultDeadline,
+                      this::cancelIfPending);
+    }
+
+    /**
+     * Full session: hold the seats, block on the payment step, then confirm or release.
+     * payment returns true when the charge succeeded; it should respond to interruption.
+     * If the session finishes after its deadline, the caller has already seen a
+     * TimeoutException, so the booking is cancelled even if it was paid (see undoLateSession).
+     */
+    public CompletableFuture<Booking> bookAndPay(User user, Show show, List<ShowSeat> seats,
+                                                 Predicate<Booking> payment, Duration deadline) {
+        return submit(() -> {
+            Booking booking = service.bookSeats(user, show, seats);
+            boolean paid = false;
+            try {
+                paid = payment.test(booking);
+            } finally {
+                if (paid) {
+                    service.confirmBooking(booking.getId());
+                } else {
+                    cancelIfPending(booking);
+                }
+            }
+            return booking;
+        }, deadline, this::undoLateSession);
+    }
+
+    /**
+     * Runs the request on its own thread if a permit is free; fails fast otherwise.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> request, Duration deadline) {
+        return submit(request, deadline, null);
+    }
+
+    /**
+     * onLate receives a value the request produced after its future had already failed,
+     * so side effects nobody will see (e.g. a held booking) can be undone.
+     */
+    private <T> CompletableFuture<T> submit(Callable<T> request, Duration deadline, Consumer<T> onLate) {
+        if (!permits.tryAcquire()) {
+            throw new RequestRejectedException("Too many requests in flight (limit " + maxInFlight + ")");
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    T value = request.call();
+                    if (!result.complete(value) && onLate != null) {
+                        onLate.accept(value);
+                    }
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        result.orTimeout(deadline.toNanos(), TimeUnit.NANOSECONDS)
+              .whenComplete((value, error) -> {
+                  if (error instanceof TimeoutException) {
+                      task.cancel(true);
+                  }
+              });
+        return result;
+    }
+
+    public int getInFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void cancelIfPending(Booking booking) {
+        if (booking.getStatus() == BookingStatus.PENDING) {
+            service.cancelBooking(booking.getId());
+        }
+    }
+
+    /**
+     * A paid booking the caller was told had timed out is released rather than kept
+     * silently; the warning is the hook for refunding its charge.
+     */
+    private void undoLateSession(Booking booking) {
+        if (booking.getStatus() == BookingStatus.CONFIRMED) {
+            service.cancelBooking(booking.getId());
+            LOG.warning("Booking " + booking.getBookingId()
+                    + " was paid after its session deadline and has been cancelled; refund its charge");
+        } else {
+            cancelIfPending(booking);
+        }
+    }
+
+    private static Method findVirtualThreadExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A virtual-thread-per-task executor when the JDK has one; otherwise a
+     * ThreadPoolExecutor of platform threads, which is how the constructors tell them apart.
+     */
+    private static ExecutorService newRequestExecutor() {
+        if (VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Present but unusable (e.g. a preview API left disabled): use platform threads.
+            }
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(null, runnable, "request-" + threadCount.incrementAndGet(), PLATFORM_STACK_SIZE);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
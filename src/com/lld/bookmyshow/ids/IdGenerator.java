@@ -0,0 +1,100 @@
+package com.lld.bookmyshow.ids;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit IDs in the Snowflake layout:
+ * [1 bit unused][41 bits millis since EPOCH][10 bits shard][12 bits sequence].
+ *
+ * Each shard owns its own generator, so shards never touch a common counter. Within a
+ * generator the (millis, sequence) pair lives in one AtomicLong and advances by CAS —
+ * no lock. When more than 4096 IDs are asked for in one millisecond, or the wall clock
+ * steps back, the sequence simply rolls into the next millisecond, so IDs stay unique
+ * and increasing without ever waiting for the clock.
+ *
+ * IDs are plain longs everywhere inside the system; the "BKG-..." / "PAY-..." strings
+ * are produced only when an ID is shown to a user or accepted from one.
+ *
+ * DB Insight: A BIGINT primary key that sorts by creation time, so inserts append to
+ * the right edge of the B-tree instead of landing on random pages like a UUID.
+ */
+public class IdGenerator {
+    public static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    public static final int MAX_SHARD = (1 << 10) - 1;
+    private static final int SHARD_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * Shared by callers that are not sharded (e.g. models constructed directly).
+     */
+    public static final IdGenerator DEFAULT = new IdGenerator(0);
+
+    private final long shardBits;
+    private final AtomicLong state; // (millis since EPOCH << SEQUENCE_BITS) | sequence
+
+    public IdGenerator(int shardId) {
+        if (shardId < 0 || shardId > MAX_SHARD) {
+            throw new IllegalArgumentException("Shard id must be within 0.." + MAX_SHARD + ": " + shardId);
+        }
+        this.shardBits = (long) shardId << SEQUENCE_BITS;
+        this.state = new AtomicLong();
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            long next = now > (current >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : current + 1;
+            if (state.compareAndSet(current, next)) {
+                return compose(next);
+            }
+        }
+    }
+
+    /**
+     * Ensures every later ID from this generator is greater than the given one
+     * (e.g. IDs restored from a journal written before a clock step-back).
+     */
+    public void reserveThrough(long id) {
+        long restored = (id >>> (SHARD_BITS + SEQUENCE_BITS)) << SEQUENCE_BITS | (id & SEQUENCE_MASK);
+        state.accumulateAndGet(restored, Math::max);
+    }
+
+    private long compose(long packed) {
+        return (packed >>> SEQUENCE_BITS) << (SHARD_BITS + SEQUENCE_BITS) | shardBits | (packed & SEQUENCE_MASK);
+    }
+
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> (SHARD_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    /**
+     * Smallest ID any generator could issue at the given instant, for time-range scans
+     * over maps keyed by ID.
+     */
+    public static long firstIdAt(Instant instant) {
+        long millis = Math.max(0, instant.toEpochMilli() - EPOCH_MILLIS);
+        return millis << (SHARD_BITS + SEQUENCE_BITS);
+    }
+
+    public static int shardOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_SHARD;
+    }
+
+    public static String format(String prefix, long id) {
+        return prefix + "-" + id;
+    }
+
+    /**
+     * Inverse of format(): "BKG-123" → 123.
+     */
+    public static long parse(String formatted) {
+        try {
+            return Long.parseLong(formatted.substring(formatted.lastIndexOf('-') + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a valid ID: " + formatted);
+        }
+    }
+}
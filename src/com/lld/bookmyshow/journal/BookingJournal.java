@@ -0,0 +1,289 @@
+package com.lld.bookmyshow.journal;
+
+import com.lld.bookmyshow.enums.JournalEventType;
+import com.lld.bookmyshow.models.Booking;
+import com.lld.bookmyshow.models.ShowSeat;
+import com.lld.bookmyshow.models.User;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped write-ahead journal of booking events
+ * (CREATE, CONFIRM, CANCEL, EXPIRE).
+ *
+ * Layout: fixed-size segment files journal-NNNNNNNN.log, each mapped in full.
+ * Record: [int length][body][int crc32(body)]. A zero length marks the end of data;
+ * a bad CRC marks a torn write and also ends replay.
+ *
+ * Group commit: appends only copy bytes into the mapping. A single flusher thread
+ * wakes every commit window and forces everything appended so far with one msync,
+ * then releases all writers waiting in awaitDurable(). Durability costs one fsync
+ * per batch instead of one per booking.
+ *
+ * DB Insight: This is the redo log a database keeps in front of the booking and
+ * show_seat tables — the heap is rebuilt by replaying it on startup.
+ */
+public class BookingJournal implements Closeable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final Duration DEFAULT_COMMIT_WINDOW = Duration.ofMillis(2);
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long commitWindowNanos;
+    private final Object appendLock = new Object();
+    private final Object durableLock = new Object();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private long appendedPosition;
+    private volatile long durablePosition;
+    private volatile boolean closed;
+    private final Thread flusher;
+
+    private BookingJournal(Path directory, int segmentSize, Duration commitWindow) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.commitWindowNanos = commitWindow.toNanos();
+        this.flusher = new Thread(this::flushLoop, "booking-journal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    public static BookingJournal open(Path directory, Consumer<JournalEvent> onReplay) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_COMMIT_WINDOW, onReplay);
+    }
+
+    /**
+     * Replays every intact record in order through onReplay, then positions the
+     * journal for appending right after the last good record.
+     */
+    public static BookingJournal open(Path directory, int segmentSize, Duration commitWindow,
+                                      Consumer<JournalEvent> onReplay) throws IOException {
+        Files.createDirectories(directory);
+        BookingJournal journal = new BookingJournal(directory, segmentSize, commitWindow);
+
+        List<Path> segments = journal.listSegments();
+        int lastIndex = segments.isEmpty() ? 0 : segments.size() - 1;
+        int endOffset = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            try (FileChannel readChannel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                int end = replaySegment(buffer, onReplay);
+                if (i == lastIndex) endOffset = end;
+            }
+        }
+
+        journal.openSegment(lastIndex, endOffset);
+        journal.durablePosition = journal.appendedPosition;
+        journal.flusher.start();
+        return journal;
+    }
+
+    /**
+     * Appends one event and returns the journal position just past it.
+     * Does not wait for the disk; pair with awaitDurable() where the caller needs durability.
+     */
+    public long append(JournalEventType type, Booking booking) {
+        byte[] body = encode(type, booking);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        int recordSize = Integer.BYTES + body.length + Integer.BYTES;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Journal record larger than segment: " + recordSize);
+        }
+
+        synchronized (appendLock) {
+            if (closed) throw new IllegalStateException("Journal is closed");
+            try {
+                if (segment.position() + recordSize > segmentSize) {
+                    segment.force();
+                    channel.close();
+                    openSegment(segmentIndex + 1, 0);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            segment.putInt(body.length);
+            segment.put(body);
+            segment.putInt((int) crc.getValue());
+            appendedPosition = (long) segmentIndex * segmentSize + segment.position();
+            return appendedPosition;
+        }
+    }
+
+    public long getAppendedPosition() {
+        synchronized (appendLock) {
+            return appendedPosition;
+        }
+    }
+
+    /**
+     * Blocks until everything up to the given position has been forced to disk.
+     * If interrupted, restores the interrupt flag and throws IllegalStateException:
+     * the record may not be durable, and the caller must not act as if it were.
+     */
+    public void awaitDurable(long position) {
+        synchronized (durableLock) {
+            while (durablePosition < position && !closed) {
+                try {
+                    durableLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted before journal position " + position + " was durable", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            if (closed) return;
+            closed = true;
+            segment.force();
+            channel.close();
+        }
+        LockSupport.unpark(flusher);
+        synchronized (durableLock) {
+            durablePosition = appendedPosition;
+            durableLock.notifyAll();
+        }
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            LockSupport.parkNanos(commitWindowNanos);
+            long target;
+            MappedByteBuffer buffer;
+            synchronized (appendLock) {
+                if (closed) return;
+                target = appendedPosition;
+                buffer = segment;
+            }
+            if (target > durablePosition) {
+                buffer.force();
+                synchronized (durableLock) {
+                    durablePosition = target;
+                    durableLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private void openSegment(int index, int offset) throws IOException {
+        Path path = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment.position(offset);
+        segmentIndex = index;
+        appendedPosition = (long) index * segmentSize + offset;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                 .sorted()
+                 .forEach(segments::add);
+        }
+        return segments;
+    }
+
+    private static int replaySegment(MappedByteBuffer buffer, Consumer<JournalEvent> onReplay) throws IOException {
+        int offset = 0;
+        while (buffer.limit() - offset >= Integer.BYTES * 2) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + Integer.BYTES * 2 + length > buffer.limit()) break;
+            byte[] body = new byte[length];
+            buffer.get(offset + Integer.BYTES, body);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            if (buffer.getInt(offset + Integer.BYTES + length) != (int) crc.getValue()) break;
+            onReplay.accept(decode(body));
+            offset += Integer.BYTES * 2 + length;
+        }
+        return offset;
+    }
+
+    private static byte[] encode(JournalEventType type, Booking booking) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(type.ordinal());
+            out.writeLong(booking.getId());
+            if (type == JournalEventType.CREATE) {
+                User user = booking.getUser();
+                writeNullable(out, user.getUserId());
+                writeNullable(out, user.getName());
+                writeNullable(out, user.getEmail());
+                writeNullable(out, user.getPhone());
+                out.writeUTF(booking.getShow().getShowId());
+                out.writeLong(booking.getBookingTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                out.writeDouble(booking.getTotalAmount());
+                out.writeInt(booking.getBookedSeats().size());
+                for (ShowSeat seat : booking.getBookedSeats()) {
+                    out.writeInt(seat.getOrdinal());
+                }
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * [boolean present][UTF value if present] — user contact fields are optional.
+     */
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static JournalEvent decode(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        JournalEventType type = JournalEventType.values()[in.readByte()];
+        long bookingId = in.readLong();
+        if (type != JournalEventType.CREATE) {
+            return new JournalEvent(type, bookingId);
+        }
+        String userId = readNullable(in);
+        String userName = readNullable(in);
+        String userEmail = readNullable(in);
+        String userPhone = readNullable(in);
+        String showId = in.readUTF();
+        long bookingTimeMillis = in.readLong();
+        double totalAmount = in.readDouble();
+        int[] ordinals = new int[in.readInt()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = in.readInt();
+        }
+        return new JournalEvent(type, bookingId, userId, userName, userEmail, userPhone,
+                showId, ordinals, totalAmount, bookingTimeMillis);
+    }
+}
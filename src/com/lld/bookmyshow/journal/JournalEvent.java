@@ -0,0 +1,57 @@
+package com.lld.bookmyshow.journal;
+
+import com.lld.bookmyshow.enums.JournalEventType;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * One booking event read back from the journal during recovery.
+ * Only CREATE events carry user, show, seat and amount fields.
+ */
+public class JournalEvent {
+    private final JournalEventType type;
+    private final long bookingId;
+    private final String userId;
+    private final String userName;
+    private final String userEmail;
+    private final String userPhone;
+    private final String showId;
+    private final int[] seatOrdinals;
+    private final double totalAmount;
+    private final long bookingTimeMillis;
+
+    JournalEvent(JournalEventType type, long bookingId, String userId, String userName,
+                 String userEmail, String userPhone, String showId, int[] seatOrdinals,
+                 double totalAmount, long bookingTimeMillis) {
+        this.type = type;
+        this.bookingId = bookingId;
+        this.userId = userId;
+        this.userName = userName;
+        this.userEmail = userEmail;
+        this.userPhone = userPhone;
+        this.showId = showId;
+        this.seatOrdinals = seatOrdinals;
+        this.totalAmount = totalAmount;
+        this.bookingTimeMillis = bookingTimeMillis;
+    }
+
+    JournalEvent(JournalEventType type, long bookingId) {
+        this(type, bookingId, null, null, null, null, null, null, 0, 0);
+    }
+
+    public JournalEventType getType() { return type; }
+    public long getBookingId() { return bookingId; }
+    public String getUserId() { return userId; }
+    public String getUserName() { return userName; }
+    public String getUserEmail() { return userEmail; }
+    public String getUserPhone() { return userPhone; }
+    public String getShowId() { return showId; }
+    public int[] getSeatOrdinals() { return seatOrdinals; }
+    public double getTotalAmount() { return totalAmount; }
+    public long getBookingTimeMillis() { return bookingTimeMillis; }
+
+    public LocalDateTime getBookingTime() {
+        return Instant.ofEpochMilli(bookingTimeMillis).atZone(ZoneId.systemDefault()).toLocalDateTime();
+    }
+}
@@ -1,6 +1,7 @@
 package com.lld.bookmyshow.models;
 
 import com.lld.bookmyshow.enums.BookingStatus;
+import com.lld.bookmyshow.ids.IdGenerator;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -14,46 +15,92 @@ import java.util.List;
  * Index on (show_id, booking_status) for "show occupancy" queries.
  */
 public class Booking {
-    private static int bookingCounter = 1;
+    public static final String ID_PREFIX = "BKG";
     private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("dd-MMM-yyyy HH:mm:ss");
 
-    private final String bookingId;
+    private final long id;
     private final User user;
     private final Show show;
     private final List<ShowSeat> bookedSeats;
     private final LocalDateTime bookingTime;
-    private BookingStatus status;
+    private final BookingStatusListener statusListener;
+    private volatile BookingStatus status;
     private double totalAmount;
 
     public Booking(User user, Show show, List<ShowSeat> bookedSeats, double totalAmount) {
-        this.bookingId = "BKG-" + bookingCounter++;
+        this(user, show, bookedSeats, totalAmount, BookingStatusListener.NONE);
+    }
+
+    public Booking(User user, Show show, List<ShowSeat> bookedSeats, double totalAmount,
+                   BookingStatusListener statusListener) {
+        this(IdGenerator.DEFAULT.nextId(), user, show, bookedSeats, totalAmount, statusListener);
+    }
+
+    public Booking(long id, User user, Show show, List<ShowSeat> bookedSeats, double totalAmount,
+                   BookingStatusListener statusListener) {
+        this(id, user, show, bookedSeats, totalAmount, LocalDateTime.now(), statusListener);
+    }
+
+    /**
+     * Restores a PENDING booking with its original ID and time (journal replay).
+     */
+    public Booking(long id, User user, Show show, List<ShowSeat> bookedSeats, double totalAmount,
+                   LocalDateTime bookingTime, BookingStatusListener statusListener) {
+        this.id = id;
         this.user = user;
         this.show = show;
         this.bookedSeats = bookedSeats;
-        this.bookingTime = LocalDateTime.now();
+        this.bookingTime = bookingTime;
         this.status = BookingStatus.PENDING;
         this.totalAmount = totalAmount;
+        this.statusListener = statusListener;
     }
 
-    public void confirm() {
-        this.status = BookingStatus.CONFIRMED;
-    }
-
-    public void cancel() {
-        this.status = BookingStatus.CANCELLED;
+    /**
+     * State transitions are synchronized per booking: a payment confirmation can race
+     * with the hold-expiry ticker, and exactly one of them must win.
+     */
+    public synchronized boolean confirm() {
+        if (status != BookingStatus.PENDING) return false;
         for (ShowSeat showSeat : bookedSeats) {
-            showSeat.unlockSeat();
+            showSeat.confirmSeat();
         }
+        transitionTo(BookingStatus.CONFIRMED);
+        return true;
+    }
+
+    public synchronized boolean cancel() {
+        if (status != BookingStatus.PENDING && status != BookingStatus.CONFIRMED) return false;
+        releaseSeats();
+        transitionTo(BookingStatus.CANCELLED);
+        return true;
+    }
+
+    public synchronized boolean expire() {
+        if (status != BookingStatus.PENDING) return false;
+        releaseSeats();
+        transitionTo(BookingStatus.EXPIRED);
+        return true;
+    }
+
+    private void transitionTo(BookingStatus next) {
+        BookingStatus previous = this.status;
+        this.status = next;
+        statusListener.onStatusChange(this, previous, next);
     }
 
-    public void expire() {
-        this.status = BookingStatus.EXPIRED;
+    private void releaseSeats() {
         for (ShowSeat showSeat : bookedSeats) {
-            showSeat.unlockSeat();
+            if (status == BookingStatus.CONFIRMED) {
+                showSeat.releaseConfirmedSeat();
+            } else {
+                showSeat.unlockSeat();
+            }
         }
     }
 
-    public String getBookingId() { return bookingId; }
+    public long getId() { return id; }
+    public String getBookingId() { return IdGenerator.format(ID_PREFIX, id); }
     public User getUser() { return user; }
     public Show getShow() { return show; }
     public List<ShowSeat> getBookedSeats() { return bookedSeats; }
@@ -63,7 +110,7 @@ public class Booking {
 
     @Override
     public String toString() {
-        return "Booking[" + bookingId + "] " + show.getMovie().getTitle() +
+        return "Booking[" + getBookingId() + "] " + show.getMovie().getTitle() +
                " | " + bookedSeats.size() + " seats | ₹" + String.format("%.0f", totalAmount) +
                " | " + status + " | " + bookingTime.format(FMT);
     }
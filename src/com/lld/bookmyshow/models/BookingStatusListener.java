@@ -0,0 +1,14 @@
+package com.lld.bookmyshow.models;
+
+import com.lld.bookmyshow.enums.BookingStatus;
+
+/**
+ * Observer notified on every Booking status transition, so secondary indexes
+ * stay consistent no matter who drives the change (service call, payment, hold expiry).
+ * Invoked while the booking's monitor is held; implementations must not block.
+ */
+public interface BookingStatusListener {
+    BookingStatusListener NONE = (booking, from, to) -> { };
+
+    void onStatusChange(Booking booking, BookingStatus from, BookingStatus to);
+}
@@ -0,0 +1,14 @@
+package com.lld.bookmyshow.models;
+
+import com.lld.bookmyshow.enums.SeatType;
+
+/**
+ * Notified after a seat of the given type is held or released on a show.
+ * Confirmations do not fire it: held → confirmed leaves the booked count unchanged.
+ * Invoked on the booking thread; implementations must be cheap and must not block.
+ */
+public interface OccupancyListener {
+    OccupancyListener NONE = (occupancy, seatType) -> { };
+
+    void onOccupancyChange(ShowOccupancy occupancy, SeatType seatType);
+}
@@ -1,6 +1,7 @@
 package com.lld.bookmyshow.models;
 
 import com.lld.bookmyshow.enums.PaymentStatus;
+import com.lld.bookmyshow.ids.IdGenerator;
 import java.time.LocalDateTime;
 
 /**
@@ -12,39 +13,76 @@ import java.time.LocalDateTime;
  * Index on (payment_status, created_at) for reconciliation batch jobs.
  */
 public class Payment {
-    private static int paymentCounter = 1;
+    public static final String ID_PREFIX = "PAY";
 
-    private final String paymentId;
+    private final long id;
     private final Booking booking;
     private final double amount;
     private final String paymentMethod;
     private final LocalDateTime paymentTime;
-    private PaymentStatus status;
+    private final PaymentStatusListener statusListener;
+    private volatile PaymentStatus status;
 
     public Payment(Booking booking, double amount, String paymentMethod) {
-        this.paymentId = "PAY-" + paymentCounter++;
+        this(IdGenerator.DEFAULT.nextId(), booking, amount, paymentMethod);
+    }
+
+    public Payment(long id, Booking booking, double amount, String paymentMethod) {
+        this(id, booking, amount, paymentMethod, PaymentStatusListener.NONE);
+    }
+
+    public Payment(long id, Booking booking, double amount, String paymentMethod,
+                   PaymentStatusListener statusListener) {
+        this.id = id;
         this.booking = booking;
         this.amount = amount;
         this.paymentMethod = paymentMethod;
         this.paymentTime = LocalDateTime.now();
         this.status = PaymentStatus.PENDING;
+        this.statusListener = statusListener;
     }
 
-    public void markSuccess() {
-        this.status = PaymentStatus.SUCCESS;
-        booking.confirm();
+    /**
+     * If the hold already expired, the seats may be resold, so the charge is refunded.
+     * Only a PENDING payment can settle; returns false if it already has.
+     */
+    public synchronized boolean markSuccess() {
+        if (status != PaymentStatus.PENDING) return false;
+        transitionTo(booking.confirm() ? PaymentStatus.SUCCESS : PaymentStatus.REFUNDED);
+        return true;
     }
 
-    public void markFailed() {
-        this.status = PaymentStatus.FAILED;
+    public synchronized boolean markFailed() {
+        if (status != PaymentStatus.PENDING) return false;
+        transitionTo(PaymentStatus.FAILED);
         booking.expire();
+        return true;
+    }
+
+    public synchronized boolean refund() {
+        if (status != PaymentStatus.SUCCESS) return false;
+        transitionTo(PaymentStatus.REFUNDED);
+        return true;
+    }
+
+    /**
+     * The payment was marked FAILED (e.g. the gateway call errored) but the provider did
+     * capture the money. Its hold is already released, so the charge is refunded.
+     */
+    public synchronized boolean refundFailedCapture() {
+        if (status != PaymentStatus.FAILED) return false;
+        transitionTo(PaymentStatus.REFUNDED);
+        return true;
     }
 
-    public void refund() {
-        this.status = PaymentStatus.REFUNDED;
+    private void transitionTo(PaymentStatus next) {
+        PaymentStatus previous = this.status;
+        this.status = next;
+        statusListener.onStatusChange(this, previous, next);
     }
 
-    public String getPaymentId() { return paymentId; }
+    public long getId() { return id; }
+    public String getPaymentId() { return IdGenerator.format(ID_PREFIX, id); }
     public Booking getBooking() { return booking; }
     public double getAmount() { return amount; }
     public String getPaymentMethod() { return paymentMethod; }
@@ -53,7 +91,7 @@ public class Payment {
 
     @Override
     public String toString() {
-        return "Payment[" + paymentId + "] ₹" + String.format("%.0f", amount) +
+        return "Payment[" + getPaymentId() + "] ₹" + String.format("%.0f", amount) +
                " via " + paymentMethod + " | " + status;
     }
 }
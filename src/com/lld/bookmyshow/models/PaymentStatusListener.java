@@ -0,0 +1,13 @@
+package com.lld.bookmyshow.models;
+
+import com.lld.bookmyshow.enums.PaymentStatus;
+
+/**
+ * Observer notified on every Payment status transition (see BookingStatusListener).
+ * Invoked while the payment's monitor is held; implementations must not block.
+ */
+public interface PaymentStatusListener {
+    PaymentStatusListener NONE = (payment, from, to) -> { };
+
+    void onStatusChange(Payment payment, PaymentStatus from, PaymentStatus to);
+}
@@ -7,6 +7,8 @@ public class Screen {
     private final String screenId;
     private final String name;
     private final List<Seat> seats;
+    private List<Seat> layout;
+    private SeatRowLayout rowLayout;
 
     public Screen(String screenId, String name) {
         this.screenId = screenId;
@@ -16,6 +18,26 @@ public class Screen {
 
     public void addSeat(Seat seat) {
         seats.add(seat);
+        layout = null;
+        rowLayout = null;
+    }
+
+    /**
+     * Immutable snapshot of the seat layout, shared by every Show on this screen.
+     * A seat's index in this list is its ordinal.
+     */
+    public List<Seat> getLayout() {
+        if (layout == null) {
+            layout = List.copyOf(seats);
+        }
+        return layout;
+    }
+
+    public SeatRowLayout getRowLayout() {
+        if (rowLayout == null) {
+            rowLayout = new SeatRowLayout(getLayout());
+        }
+        return rowLayout;
     }
 
     public List<Seat> getSeats() { return seats; }
@@ -0,0 +1,161 @@
+package com.lld.bookmyshow.models;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-show seat availability packed into 64-bit words, one bit per seat ordinal.
+ * A set bit means the seat is booked (held or confirmed); a clear bit means available.
+ *
+ * Replaces the "scan every ShowSeat" approach: a 200-seat screen fits in 4 words,
+ * so counting and listing free seats is a handful of bitCount / numberOfTrailingZeros calls.
+ *
+ * DB Insight: Equivalent to keeping a bitmap column on `show` alongside the
+ * show_seat rows — the rows stay the source of truth, the bitmap answers
+ * "how many seats left?" without touching them.
+ *
+ * Versioning: every successful lock/unlock bumps a monotonically increasing version
+ * and records (version, ordinal) in a small ring buffer, so a seat-map client that
+ * last saw version N can be sent just the seats that changed since N.
+ */
+public class SeatAvailability {
+    private static final int WORD_BITS = 64;
+    private static final int CHANGE_LOG_SIZE = 64;
+    private static final int ORDINAL_BITS = 24;
+    private static final long ORDINAL_MASK = (1L << ORDINAL_BITS) - 1;
+
+    private final int capacity;
+    private final AtomicLongArray words;
+    private final AtomicLong version;
+    private final AtomicLongArray changeLog;
+    private final AtomicInteger availableCount;
+
+    public SeatAvailability(int capacity) {
+        this.capacity = capacity;
+        this.words = new AtomicLongArray((capacity + WORD_BITS - 1) / WORD_BITS);
+        this.version = new AtomicLong();
+        this.changeLog = new AtomicLongArray(CHANGE_LOG_SIZE);
+        this.availableCount = new AtomicInteger(capacity);
+    }
+
+    /**
+     * Marks the seat booked. CAS loop on the owning word, so only one caller can win a seat.
+     */
+    public boolean tryLock(int ordinal) {
+        int index = ordinal / WORD_BITS;
+        long mask = 1L << (ordinal % WORD_BITS);
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) != 0) return false;
+            if (words.compareAndSet(index, current, current | mask)) {
+                availableCount.decrementAndGet();
+                recordChange(ordinal);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns false if the seat was already available.
+     */
+    public boolean unlock(int ordinal) {
+        int index = ordinal / WORD_BITS;
+        long mask = 1L << (ordinal % WORD_BITS);
+        while (true) {
+            long current = words.get(index);
+            if ((current & mask) == 0) return false;
+            if (words.compareAndSet(index, current, current & ~mask)) {
+                availableCount.incrementAndGet();
+                recordChange(ordinal);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The bit flips before the version bumps, so anything read after observing
+     * version V already reflects every change up to V.
+     */
+    private void recordChange(int ordinal) {
+        long changeVersion = version.incrementAndGet();
+        changeLog.set((int) (changeVersion % CHANGE_LOG_SIZE), (changeVersion << ORDINAL_BITS) | ordinal);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Ordinals changed in (fromVersion, toVersion], or null when that range has already
+     * rotated out of the change log, or fromVersion is negative (caller should fall back
+     * to a full snapshot).
+     */
+    public int[] changedBetween(long fromVersion, long toVersion) {
+        if (fromVersion < 0 || toVersion - fromVersion > CHANGE_LOG_SIZE) return null;
+        int[] ordinals = new int[(int) Math.max(0, toVersion - fromVersion)];
+        for (long v = fromVersion + 1; v <= toVersion; v++) {
+            long entry = changeLog.get((int) (v % CHANGE_LOG_SIZE));
+            if (entry >>> ORDINAL_BITS != v) return null;
+            ordinals[(int) (v - fromVersion - 1)] = (int) (entry & ORDINAL_MASK);
+        }
+        return ordinals;
+    }
+
+    /**
+     * Copy of the raw bitmap words (set bit = booked).
+     */
+    public long[] copyWords() {
+        long[] copy = new long[words.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = words.get(i);
+        }
+        return copy;
+    }
+
+    public boolean isAvailable(int ordinal) {
+        return (words.get(ordinal / WORD_BITS) & (1L << (ordinal % WORD_BITS))) == 0;
+    }
+
+    /**
+     * O(1): kept in step with the bitmap by tryLock/unlock, so a sold-out check
+     * is a single volatile read.
+     */
+    public int getAvailableCount() {
+        return availableCount.get();
+    }
+
+    /**
+     * Returns the first available ordinal at or after fromOrdinal, or -1 if none.
+     */
+    public int nextAvailable(int fromOrdinal) {
+        if (fromOrdinal >= capacity) return -1;
+        int index = fromOrdinal / WORD_BITS;
+        long free = ~words.get(index) & (-1L << (fromOrdinal % WORD_BITS));
+        while (true) {
+            if (free != 0) {
+                int ordinal = index * WORD_BITS + Long.numberOfTrailingZeros(free);
+                return ordinal < capacity ? ordinal : -1;
+            }
+            if (++index == words.length()) return -1;
+            free = ~words.get(index);
+        }
+    }
+
+    /**
+     * Free bits for ordinals [fromOrdinal, fromOrdinal + length), packed into one long.
+     * length must be at most 64; a run may straddle two words.
+     */
+    public long freeBits(int fromOrdinal, int length) {
+        int index = fromOrdinal / WORD_BITS;
+        int shift = fromOrdinal % WORD_BITS;
+        long booked = words.get(index) >>> shift;
+        if (shift != 0 && shift + length > WORD_BITS) {
+            booked |= words.get(index + 1) << (WORD_BITS - shift);
+        }
+        long mask = length == WORD_BITS ? -1L : (1L << length) - 1;
+        return ~booked & mask;
+    }
+
+    public int getCapacity() { return capacity; }
+}
@@ -0,0 +1,52 @@
+package com.lld.bookmyshow.models;
+
+/**
+ * Seats whose availability changed between two seat-map versions of a Show.
+ * Each entry carries the seat's current state, so applying a delta twice is harmless.
+ *
+ * When the client's version is too old to reconstruct, the delta carries a full
+ * snapshot instead (isFullSnapshot() is true).
+ */
+public class SeatMapDelta {
+    private final String showId;
+    private final long fromVersion;
+    private final long toVersion;
+    private final int[] ordinals;
+    private final boolean[] available;
+    private final SeatMapSnapshot snapshot;
+
+    public SeatMapDelta(String showId, long fromVersion, long toVersion, int[] ordinals, boolean[] available) {
+        this.showId = showId;
+        this.fromVersion = fromVersion;
+        this.toVersion = toVersion;
+        this.ordinals = ordinals;
+        this.available = available;
+        this.snapshot = null;
+    }
+
+    public SeatMapDelta(long fromVersion, SeatMapSnapshot snapshot) {
+        this.showId = snapshot.getShowId();
+        this.fromVersion = fromVersion;
+        this.toVersion = snapshot.getVersion();
+        this.ordinals = new int[0];
+        this.available = new boolean[0];
+        this.snapshot = snapshot;
+    }
+
+    public boolean isFullSnapshot() { return snapshot != null; }
+    public SeatMapSnapshot getSnapshot() { return snapshot; }
+    public String getShowId() { return showId; }
+    public long getFromVersion() { return fromVersion; }
+    public long getToVersion() { return toVersion; }
+    public int getChangeCount() { return ordinals.length; }
+    public int getOrdinal(int index) { return ordinals[index]; }
+    public boolean isAvailable(int index) { return available[index]; }
+
+    @Override
+    public String toString() {
+        if (isFullSnapshot()) {
+            return "SeatMapDelta[" + showId + " v" + fromVersion + "→v" + toVersion + "] full: " + snapshot;
+        }
+        return "SeatMapDelta[" + showId + " v" + fromVersion + "→v" + toVersion + "] " + ordinals.length + " changes";
+    }
+}
@@ -0,0 +1,43 @@
+package com.lld.bookmyshow.models;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Immutable, encoded seat map of a Show at a given availability version.
+ * The payload is the availability bitmap as little-endian bytes: bit i set = seat ordinal i booked.
+ * A 200-seat screen encodes to 32 bytes, so the same snapshot is handed to every
+ * poller until the version moves.
+ */
+public class SeatMapSnapshot {
+    private final String showId;
+    private final long version;
+    private final int seatCount;
+    private final byte[] encoded;
+
+    public SeatMapSnapshot(String showId, long version, int seatCount, long[] bookedWords) {
+        this.showId = showId;
+        this.version = version;
+        this.seatCount = seatCount;
+        ByteBuffer buffer = ByteBuffer.allocate(bookedWords.length * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (long word : bookedWords) {
+            buffer.putLong(word);
+        }
+        this.encoded = buffer.array();
+    }
+
+    public boolean isAvailable(int ordinal) {
+        return (encoded[ordinal >>> 3] & (1 << (ordinal & 7))) == 0;
+    }
+
+    public String getShowId() { return showId; }
+    public long getVersion() { return version; }
+    public int getSeatCount() { return seatCount; }
+    public byte[] getEncoded() { return encoded.clone(); }
+
+    @Override
+    public String toString() {
+        return "SeatMap[" + showId + " v" + version + "] " + seatCount + " seats, " + encoded.length + " bytes";
+    }
+}
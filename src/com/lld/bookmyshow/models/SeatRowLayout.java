@@ -0,0 +1,97 @@
+package com.lld.bookmyshow.models;
+
+import com.lld.bookmyshow.enums.SeatType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Row-by-row view of a Screen's seat layout, precomputed once and shared by every Show.
+ *
+ * Each row is split into segments of at most 64 seats (ordered by seatNumber), so a
+ * segment's per-show occupancy fits in one long. Per segment we keep:
+ * - the seat ordinals in seat order
+ * - a mask per SeatType of which positions hold that type
+ * - a link mask: bit p is set when seat p and seat p + 1 are physically adjacent
+ *   (consecutive seat numbers, so an aisle gap breaks a block)
+ */
+public class SeatRowLayout {
+    public static final int SEGMENT_SIZE = 64;
+
+    private final List<Segment> segments;
+
+    public SeatRowLayout(List<Seat> layout) {
+        Map<Integer, List<Integer>> ordinalsByRow = new TreeMap<>();
+        for (int ordinal = 0; ordinal < layout.size(); ordinal++) {
+            ordinalsByRow.computeIfAbsent(layout.get(ordinal).getRowNumber(), r -> new ArrayList<>()).add(ordinal);
+        }
+
+        List<Segment> built = new ArrayList<>();
+        for (Map.Entry<Integer, List<Integer>> row : ordinalsByRow.entrySet()) {
+            List<Integer> ordinals = row.getValue();
+            ordinals.sort(Comparator.comparingInt(ordinal -> layout.get(ordinal).getSeatNumber()));
+            for (int from = 0; from < ordinals.size(); from += SEGMENT_SIZE) {
+                List<Integer> chunk = ordinals.subList(from, Math.min(from + SEGMENT_SIZE, ordinals.size()));
+                built.add(new Segment(row.getKey(), chunk, layout));
+            }
+        }
+        this.segments = Collections.unmodifiableList(built);
+    }
+
+    public List<Segment> getSegments() { return segments; }
+
+    public static class Segment {
+        private final int rowNumber;
+        private final int[] ordinals;
+        private final boolean contiguous;
+        private final long[] typeMasks;
+        private final long linkMask;
+
+        private Segment(int rowNumber, List<Integer> ordinals, List<Seat> layout) {
+            this.rowNumber = rowNumber;
+            this.ordinals = new int[ordinals.size()];
+            this.typeMasks = new long[SeatType.values().length];
+            boolean contiguous = true;
+            long linkMask = 0;
+            for (int p = 0; p < ordinals.size(); p++) {
+                int ordinal = ordinals.get(p);
+                Seat seat = layout.get(ordinal);
+                this.ordinals[p] = ordinal;
+                typeMasks[seat.getSeatType().ordinal()] |= 1L << p;
+                if (p > 0) {
+                    contiguous &= ordinal == this.ordinals[p - 1] + 1;
+                    if (seat.getSeatNumber() == layout.get(this.ordinals[p - 1]).getSeatNumber() + 1) {
+                        linkMask |= 1L << (p - 1);
+                    }
+                }
+            }
+            this.contiguous = contiguous;
+            this.linkMask = linkMask;
+        }
+
+        /**
+         * Bit p set when position p of this segment is free in the given show.
+         */
+        public long freeMask(SeatAvailability availability) {
+            if (contiguous) {
+                return availability.freeBits(ordinals[0], ordinals.length);
+            }
+            long free = 0;
+            for (int p = 0; p < ordinals.length; p++) {
+                if (availability.isAvailable(ordinals[p])) {
+                    free |= 1L << p;
+                }
+            }
+            return free;
+        }
+
+        public int getRowNumber() { return rowNumber; }
+        public int size() { return ordinals.length; }
+        public int ordinalAt(int position) { return ordinals[position]; }
+        public long typeMask(SeatType type) { return typeMasks[type.ordinal()]; }
+        public long linkMask() { return linkMask; }
+    }
+}
@@ -1,8 +1,12 @@
 package com.lld.bookmyshow.models;
 
+import com.lld.bookmyshow.enums.SeatType;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -12,6 +16,9 @@ import java.util.List;
  * DB Insight: The `show` table is one of the highest-volume tables.
  * With ~10K theatres × 5 screens × 4 shows/day = 200K rows/day, ~73M rows/year.
  * Partition by show_date for efficient range queries.
+ *
+ * Per-seat state lives in a ShowSeatStore (bitmap + primitive price array);
+ * ShowSeat objects are lightweight views created on demand.
  */
 public class Show {
     private final String showId;
@@ -19,7 +26,9 @@ public class Show {
     private final Screen screen;
     private final LocalDateTime startTime;
     private final LocalDateTime endTime;
-    private final List<ShowSeat> showSeats;
+    private ShowSeatStore seatStore;
+    private List<ShowSeat> showSeats;
+    private volatile SeatMapSnapshot cachedSeatMap;
 
     private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("dd-MMM HH:mm");
 
@@ -30,31 +39,174 @@ public class Show {
         this.screen = screen;
         this.startTime = startTime;
         this.endTime = endTime;
-        this.showSeats = new ArrayList<>();
+        this.showSeats = Collections.emptyList();
     }
 
     public void initializeSeats() {
-        for (Seat seat : screen.getSeats()) {
-            showSeats.add(new ShowSeat(seat, this));
-        }
+        this.seatStore = new ShowSeatStore(screen.getLayout());
+        this.cachedSeatMap = null;
+        this.showSeats = new AbstractList<ShowSeat>() {
+            @Override
+            public ShowSeat get(int ordinal) {
+                return getShowSeat(ordinal);
+            }
+
+            @Override
+            public int size() {
+                return seatStore.size();
+            }
+        };
     }
 
+    /**
+     * Walks only the free bits of the availability bitmap instead of every seat.
+     * Empty until initializeSeats() has run.
+     */
     public List<ShowSeat> getAvailableSeats() {
-        List<ShowSeat> available = new ArrayList<>();
-        for (ShowSeat showSeat : showSeats) {
-            if (showSeat.isAvailable()) {
-                available.add(showSeat);
-            }
+        ShowSeatStore store = seatStore;
+        if (store == null) {
+            return Collections.emptyList();
+        }
+        SeatAvailability availability = store.getAvailability();
+        List<ShowSeat> available = new ArrayList<>(availability.getAvailableCount());
+        for (int i = availability.nextAvailable(0); i >= 0; i = availability.nextAvailable(i + 1)) {
+            available.add(new ShowSeat(this, i));
         }
         return available;
     }
 
+    public ShowOccupancy getOccupancy() {
+        return storeOrEmpty().getOccupancy();
+    }
+
+    public int getAvailableSeatCount() {
+        ShowSeatStore store = seatStore;
+        return store == null ? 0 : store.getAvailability().getAvailableCount();
+    }
+
+    /**
+     * Best-available allocator: finds `count` adjacent free seats of the given type,
+     * preferring the middle row of that seat type and the centre of the row.
+     * Returns an empty list when no such block exists. Does not lock anything.
+     *
+     * Per row segment: free = freeMask & typeMask, then
+     *   starts &= (free >>> k) & (link >>> (k - 1))   for k = 1..count-1
+     * leaves one bit at every position where a block of `count` adjacent seats begins.
+     */
+    public List<ShowSeat> findBestAvailable(SeatType seatType, int count) {
+        if (count < 1 || count > SeatRowLayout.SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Seat count must be between 1 and "
+                    + SeatRowLayout.SEGMENT_SIZE + ": " + count);
+        }
+        ShowSeatStore store = seatStore;
+        if (store == null) {
+            return Collections.emptyList();
+        }
+        SeatAvailability availability = store.getAvailability();
+        List<SeatRowLayout.Segment> segments = new ArrayList<>();
+        for (SeatRowLayout.Segment segment : screen.getRowLayout().getSegments()) {
+            if (Long.bitCount(segment.typeMask(seatType)) >= count) {
+                segments.add(segment);
+            }
+        }
+
+        double middleRow = (segments.size() - 1) / 2.0;
+        SeatRowLayout.Segment bestSegment = null;
+        int bestStart = -1;
+        double bestScore = Double.MAX_VALUE;
+        for (int s = 0; s < segments.size(); s++) {
+            SeatRowLayout.Segment segment = segments.get(s);
+            long free = segment.freeMask(availability) & segment.typeMask(seatType);
+            long link = segment.linkMask();
+            long starts = free;
+            for (int k = 1; k < count && starts != 0; k++) {
+                starts &= (free >>> k) & (link >>> (k - 1));
+            }
+            double rowCentre = (segment.size() - 1) / 2.0;
+            while (starts != 0) {
+                int start = Long.numberOfTrailingZeros(starts);
+                double score = Math.abs(s - middleRow) * SeatRowLayout.SEGMENT_SIZE
+                        + Math.abs(start + (count - 1) / 2.0 - rowCentre);
+                if (score < bestScore) {
+                    bestScore = score;
+                    bestSegment = segment;
+                    bestStart = start;
+                }
+                starts &= starts - 1;
+            }
+        }
+
+        if (bestSegment == null) return Collections.emptyList();
+        List<ShowSeat> block = new ArrayList<>(count);
+        for (int p = bestStart; p < bestStart + count; p++) {
+            block.add(new ShowSeat(this, bestSegment.ordinalAt(p)));
+        }
+        return block;
+    }
+
+    /**
+     * Encoded seat map at the current availability version. Rebuilt only when the
+     * version has moved since the cached copy; otherwise every caller gets the same instance.
+     * The version is read before the bitmap, so the snapshot may already include a few
+     * newer changes — a later delta simply re-sends them.
+     */
+    public SeatMapSnapshot getSeatMap() {
+        ShowSeatStore store = storeOrEmpty();
+        SeatAvailability availability = store.getAvailability();
+        long version = availability.getVersion();
+        SeatMapSnapshot cached = cachedSeatMap;
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+        SeatMapSnapshot snapshot = new SeatMapSnapshot(showId, version, store.size(), availability.copyWords());
+        cachedSeatMap = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Seats that changed since the client's version, with their current state.
+     * Falls back to a full snapshot when the change log no longer covers that version,
+     * or the version is not one this show ever issued (negative or in the future).
+     */
+    public SeatMapDelta getSeatMapChangesSince(long version) {
+        SeatAvailability availability = storeOrEmpty().getAvailability();
+        long current = availability.getVersion();
+        int[] changed = version >= 0 && version <= current ? availability.changedBetween(version, current) : null;
+        if (changed == null) {
+            return new SeatMapDelta(version, getSeatMap());
+        }
+        int[] ordinals = Arrays.stream(changed).distinct().toArray();
+        boolean[] available = new boolean[ordinals.length];
+        for (int i = 0; i < ordinals.length; i++) {
+            available[i] = availability.isAvailable(ordinals[i]);
+        }
+        return new SeatMapDelta(showId, version, current, ordinals, available);
+    }
+
+    public ShowSeat getShowSeat(int ordinal) {
+        ShowSeatStore store = seatStore;
+        if (store == null || ordinal < 0 || ordinal >= store.size()) {
+            throw new IndexOutOfBoundsException("No seat " + ordinal + " in show " + showId);
+        }
+        return new ShowSeat(this, ordinal);
+    }
+
     public String getShowId() { return showId; }
     public Movie getMovie() { return movie; }
     public Screen getScreen() { return screen; }
     public LocalDateTime getStartTime() { return startTime; }
     public LocalDateTime getEndTime() { return endTime; }
     public List<ShowSeat> getShowSeats() { return showSeats; }
+    public ShowSeatStore getSeatStore() { return seatStore; }
+    public SeatAvailability getAvailability() { return storeOrEmpty().getAvailability(); }
+
+    /**
+     * Before initializeSeats() the show reads as having no seats at all.
+     */
+    private ShowSeatStore storeOrEmpty() {
+        ShowSeatStore store = seatStore;
+        return store != null ? store : new ShowSeatStore(Collections.emptyList());
+    }
 
     @Override
     public String toString() {
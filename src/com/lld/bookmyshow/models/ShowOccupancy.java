@@ -0,0 +1,104 @@
+package com.lld.bookmyshow.models;
+
+import com.lld.bookmyshow.enums.SeatType;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Per-show seat counts by SeatType and state (available / held / confirmed),
+ * maintained incrementally as seats are locked, confirmed and released.
+ *
+ * Reads are plain atomic gets with no locking, so an occupancy dashboard costs a few
+ * reads per show regardless of screen size. Counts of different states are updated
+ * one after another, so a reader racing a booking can see a seat counted in neither
+ * or both states for an instant; each individual counter is exact.
+ *
+ * DB Insight: A denormalized show_occupancy(show_id, seat_type, available, held,
+ * confirmed) row updated in the same transaction as show_seat, replacing
+ * "SELECT seat_type, COUNT(*) FROM show_seat WHERE show_id = ? GROUP BY ...".
+ */
+public class ShowOccupancy {
+    private static final int AVAILABLE = 0;
+    private static final int HELD = 1;
+    private static final int CONFIRMED = 2;
+    private static final int STATES = 3;
+
+    private final AtomicIntegerArray counts; // [seatType.ordinal() * STATES + state]
+    private final int capacity;
+    private volatile OccupancyListener listener = OccupancyListener.NONE;
+
+    public ShowOccupancy(List<Seat> layout) {
+        this.counts = new AtomicIntegerArray(SeatType.values().length * STATES);
+        for (Seat seat : layout) {
+            counts.incrementAndGet(index(seat.getSeatType(), AVAILABLE));
+        }
+        this.capacity = layout.size();
+    }
+
+    void hold(SeatType type) {
+        counts.decrementAndGet(index(type, AVAILABLE));
+        counts.incrementAndGet(index(type, HELD));
+        listener.onOccupancyChange(this, type);
+    }
+
+    void confirm(SeatType type) {
+        counts.decrementAndGet(index(type, HELD));
+        counts.incrementAndGet(index(type, CONFIRMED));
+    }
+
+    void release(SeatType type, boolean wasConfirmed) {
+        counts.decrementAndGet(index(type, wasConfirmed ? CONFIRMED : HELD));
+        counts.incrementAndGet(index(type, AVAILABLE));
+        listener.onOccupancyChange(this, type);
+    }
+
+    /**
+     * One listener per show (e.g. the dynamic pricing engine); null detaches.
+     */
+    public void setListener(OccupancyListener listener) {
+        this.listener = listener == null ? OccupancyListener.NONE : listener;
+    }
+
+    public OccupancyListener getListener() { return listener; }
+
+    public int getAvailable(SeatType type) { return counts.get(index(type, AVAILABLE)); }
+    public int getHeld(SeatType type) { return counts.get(index(type, HELD)); }
+    public int getConfirmed(SeatType type) { return counts.get(index(type, CONFIRMED)); }
+
+    public int getAvailable() { return total(AVAILABLE); }
+    public int getHeld() { return total(HELD); }
+    public int getConfirmed() { return total(CONFIRMED); }
+    public int getCapacity() { return capacity; }
+
+    /**
+     * Fraction of this seat type that is held or confirmed (0 when the screen has none).
+     */
+    public double getOccupancyRate(SeatType type) {
+        int booked = getHeld(type) + getConfirmed(type);
+        int total = booked + getAvailable(type);
+        return total == 0 ? 0 : (double) booked / total;
+    }
+
+    private int total(int state) {
+        int sum = 0;
+        for (SeatType type : SeatType.values()) {
+            sum += counts.get(index(type, state));
+        }
+        return sum;
+    }
+
+    private static int index(SeatType type, int state) {
+        return type.ordinal() * STATES + state;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Occupancy[");
+        for (SeatType type : SeatType.values()) {
+            sb.append(type).append(": ").append(getConfirmed(type)).append(" confirmed, ")
+              .append(getHeld(type)).append(" held, ").append(getAvailable(type)).append(" free; ");
+        }
+        sb.setLength(sb.length() - 2);
+        return sb.append("]").toString();
+    }
+}
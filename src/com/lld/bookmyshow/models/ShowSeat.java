@@ -8,39 +8,64 @@ package com.lld.bookmyshow.models;
  * show_count × avg_seats_per_screen = 200K shows/day × 200 seats = 40M rows/day.
  * Must be partitioned by show_date, indexed on (show_id, is_booked).
  * Locking strategy: SELECT ... FOR UPDATE on specific show_seat rows during booking.
+ *
+ * In memory, ShowSeat is a flyweight view: just (show, ordinal). Availability and
+ * price live in the Show's ShowSeatStore, indexed by ordinal (the seat's position in
+ * the screen layout). lockSeat()/unlockSeat() are CAS on the availability bitmap;
+ * they, confirmSeat() and releaseConfirmedSeat() also move the show's occupancy counters.
+ * Two views of the same show and ordinal are equal.
  */
 public class ShowSeat {
-    private final Seat seat;
     private final Show show;
-    private volatile boolean booked;
-    private double price;
+    private final int ordinal;
 
-    public ShowSeat(Seat seat, Show show) {
-        this.seat = seat;
+    public ShowSeat(Show show, int ordinal) {
         this.show = show;
-        this.booked = false;
-        this.price = seat.getSeatType().getBasePrice();
+        this.ordinal = ordinal;
+    }
+
+    public boolean lockSeat() {
+        return show.getSeatStore().lock(ordinal);
     }
 
-    public synchronized boolean lockSeat() {
-        if (booked) return false;
-        this.booked = true;
-        return true;
+    /**
+     * Releases a held (not yet confirmed) seat.
+     */
+    public void unlockSeat() {
+        show.getSeatStore().release(ordinal, false);
     }
 
-    public synchronized void unlockSeat() {
-        this.booked = false;
+    public void confirmSeat() {
+        show.getSeatStore().confirm(ordinal);
     }
 
-    public boolean isAvailable() { return !booked; }
-    public Seat getSeat() { return seat; }
+    public void releaseConfirmedSeat() {
+        show.getSeatStore().release(ordinal, true);
+    }
+
+    public boolean isAvailable() { return show.getAvailability().isAvailable(ordinal); }
+    public Seat getSeat() { return show.getSeatStore().getSeat(ordinal); }
     public Show getShow() { return show; }
-    public double getPrice() { return price; }
-    public void setPrice(double price) { this.price = price; }
+    public int getOrdinal() { return ordinal; }
+    public double getPrice() { return show.getSeatStore().getPrice(ordinal); }
+    public void setPrice(double price) { show.getSeatStore().setPrice(ordinal, price); }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ShowSeat)) return false;
+        ShowSeat other = (ShowSeat) o;
+        return show == other.show && ordinal == other.ordinal;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * show.getShowId().hashCode() + ordinal;
+    }
 
     @Override
     public String toString() {
-        return seat.toString() + (booked ? " [BOOKED]" : " [AVAILABLE]") +
-               " ₹" + String.format("%.0f", price);
+        return getSeat().toString() + (isAvailable() ? " [AVAILABLE]" : " [BOOKED]") +
+               " ₹" + String.format("%.0f", getPrice());
     }
 }
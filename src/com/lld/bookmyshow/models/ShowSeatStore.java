@@ -0,0 +1,159 @@
+package com.lld.bookmyshow.models;
+
+import com.lld.bookmyshow.enums.SeatType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Compact per-show seat state in struct-of-arrays form, indexed by seat ordinal.
+ *
+ * - layout: the Screen's immutable seat layout, shared by every show on that screen
+ * - availability: one bit per seat (see SeatAvailability)
+ * - typePrices: one price per SeatType, published as an immutable array
+ * - seatPrices: optional per-seat overrides, allocated only when a caller prices
+ *   individual seats; null otherwise. Like typePrices, never mutated once published
+ * - occupancy: per-SeatType available/held/confirmed counters
+ *
+ * A 200-seat show costs one bitmap (4 longs) and a 4-entry price table, instead of
+ * 200 ShowSeat objects each with its own header, monitor and references.
+ * ShowSeat instances are created only as throwaway views when a caller asks for one.
+ */
+public class ShowSeatStore {
+    private final List<Seat> layout;
+    private final SeatAvailability availability;
+    private final AtomicReference<double[]> typePrices;
+    private volatile double[] seatPrices;
+    private final ShowOccupancy occupancy;
+
+    public ShowSeatStore(List<Seat> layout) {
+        this.layout = layout;
+        this.availability = new SeatAvailability(layout.size());
+        this.occupancy = new ShowOccupancy(layout);
+        double[] basePrices = new double[SeatType.values().length];
+        for (SeatType type : SeatType.values()) {
+            basePrices[type.ordinal()] = type.getBasePrice();
+        }
+        this.typePrices = new AtomicReference<>(basePrices);
+    }
+
+    public int size() { return layout.size(); }
+    public Seat getSeat(int ordinal) { return layout.get(ordinal); }
+
+    public double getPrice(int ordinal) {
+        double[] overrides = seatPrices;
+        if (overrides != null) return overrides[ordinal];
+        return typePrices.get()[layout.get(ordinal).getSeatType().ordinal()];
+    }
+
+    /**
+     * Sums the prices of several seats against a single snapshot of the price tables,
+     * so a reprice landing mid-booking cannot leave one booking with a mix of old and new prices.
+     */
+    public double getTotalPrice(int[] ordinals) {
+        double total = 0;
+        double[] overrides = seatPrices;
+        if (overrides != null) {
+            for (int ordinal : ordinals) {
+                total += overrides[ordinal];
+            }
+            return total;
+        }
+        double[] table = typePrices.get();
+        for (int ordinal : ordinals) {
+            total += table[layout.get(ordinal).getSeatType().ordinal()];
+        }
+        return total;
+    }
+
+    /**
+     * Prices one seat individually. The first call materializes a per-seat array
+     * from the current type table; setTypePrices() drops it again. Each call publishes
+     * a fresh copy so snapshots taken by getTotalPrice() never change underneath a reader.
+     */
+    public synchronized void setPrice(int ordinal, double price) {
+        double[] overrides = seatPrices;
+        if (overrides == null) {
+            double[] table = typePrices.get();
+            overrides = new double[layout.size()];
+            for (int i = 0; i < overrides.length; i++) {
+                overrides[i] = table[layout.get(i).getSeatType().ordinal()];
+            }
+        } else {
+            overrides = overrides.clone();
+        }
+        overrides[ordinal] = price;
+        seatPrices = overrides;
+    }
+
+    public double getTypePrice(SeatType type) {
+        return typePrices.get()[type.ordinal()];
+    }
+
+    public double[] getTypePrices() {
+        return typePrices.get().clone();
+    }
+
+    /**
+     * Publishes a complete per-seat price array in one volatile write; readers see
+     * either every old price or every new one.
+     */
+    public synchronized void setSeatPrices(double[] prices) {
+        if (prices.length != layout.size()) {
+            throw new IllegalArgumentException("Expected " + layout.size() + " prices, got " + prices.length);
+        }
+        seatPrices = prices.clone();
+    }
+
+    /**
+     * Replaces the whole type table in one step; readers see either the old table or the new one.
+     */
+    public synchronized void setTypePrices(double[] prices) {
+        typePrices.set(Arrays.copyOf(prices, SeatType.values().length));
+        seatPrices = null;
+    }
+
+    /**
+     * Reprices a single SeatType: copies the 4-entry table and swaps it in.
+     * If seats carry per-seat overrides, that type's overrides are scaled by the same
+     * factor and republished as a new array, so the change reaches every seat.
+     */
+    public synchronized void setTypePrice(SeatType type, double price) {
+        double[] next = typePrices.get().clone();
+        double previous = next[type.ordinal()];
+        next[type.ordinal()] = price;
+        typePrices.set(next);
+
+        double[] overrides = seatPrices;
+        if (overrides == null) return;
+        double[] scaled = overrides.clone();
+        for (int ordinal = 0; ordinal < scaled.length; ordinal++) {
+            if (layout.get(ordinal).getSeatType() == type) {
+                scaled[ordinal] = previous == 0 ? price : scaled[ordinal] * (price / previous);
+            }
+        }
+        seatPrices = scaled;
+    }
+
+    public SeatAvailability getAvailability() { return availability; }
+    public ShowOccupancy getOccupancy() { return occupancy; }
+
+    /**
+     * Claims the seat as held; occupancy follows only if the CAS won.
+     */
+    public boolean lock(int ordinal) {
+        if (!availability.tryLock(ordinal)) return false;
+        occupancy.hold(layout.get(ordinal).getSeatType());
+        return true;
+    }
+
+    public void confirm(int ordinal) {
+        occupancy.confirm(layout.get(ordinal).getSeatType());
+    }
+
+    public void release(int ordinal, boolean wasConfirmed) {
+        if (availability.unlock(ordinal)) {
+            occupancy.release(layout.get(ordinal).getSeatType(), wasConfirmed);
+        }
+    }
+}
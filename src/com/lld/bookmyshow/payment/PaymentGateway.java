@@ -0,0 +1,17 @@
+package com.lld.bookmyshow.payment;
+
+import com.lld.bookmyshow.enums.PaymentStatus;
+import com.lld.bookmyshow.models.Payment;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * External payment provider. charge() only starts the charge; the returned future is
+ * the provider's callback and completes with true (captured) or false (declined).
+ * queryStatus() is the provider's status API, used by reconciliation when a callback
+ * never arrived: SUCCESS, FAILED, or PENDING if the provider has no outcome yet.
+ */
+public interface PaymentGateway {
+    CompletableFuture<Boolean> charge(Payment payment);
+
+    PaymentStatus queryStatus(Payment payment);
+}
@@ -0,0 +1,94 @@
+package com.lld.bookmyshow.payment;
+
+import com.lld.bookmyshow.enums.PaymentStatus;
+import com.lld.bookmyshow.ids.IdGenerator;
+import com.lld.bookmyshow.models.Booking;
+import com.lld.bookmyshow.models.Payment;
+import com.lld.bookmyshow.models.PaymentStatusListener;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory store of every Payment, with a (status, created_at) index.
+ *
+ * Payment IDs are time-ordered (IdGenerator), so "ordered by created_at" is the same
+ * as "ordered by ID". Each status owns a ConcurrentSkipListMap keyed by payment ID;
+ * a time window is the key range [firstIdAt(from), firstIdAt(to)), read without
+ * touching payments in other statuses or outside the window.
+ *
+ * The ledger listens to every payment it creates, so a status change moves the
+ * payment between partitions as it happens.
+ *
+ * DB Insight: The payment table with INDEX (payment_status, created_at) — a
+ * reconciliation query is a range scan on one index prefix, never a full table scan.
+ */
+public class PaymentLedger implements PaymentStatusListener {
+    private final IdGenerator idGenerator;
+    private final Map<Long, Payment> paymentsById;
+    private final Map<PaymentStatus, ConcurrentNavigableMap<Long, Payment>> byStatus;
+
+    public PaymentLedger() {
+        this(IdGenerator.DEFAULT);
+    }
+
+    public PaymentLedger(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+        this.paymentsById = new ConcurrentHashMap<>();
+        this.byStatus = new EnumMap<>(PaymentStatus.class);
+        for (PaymentStatus status : PaymentStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    /**
+     * Creates a PENDING payment for the booking and records it.
+     */
+    public Payment create(Booking booking, String paymentMethod) {
+        Payment payment = new Payment(idGenerator.nextId(), booking, booking.getTotalAmount(), paymentMethod, this);
+        paymentsById.put(payment.getId(), payment);
+        byStatus.get(payment.getStatus()).put(payment.getId(), payment);
+        return payment;
+    }
+
+    /**
+     * Added to the new partition before leaving the old one, so a concurrent range
+     * read may briefly see a payment twice but never miss it.
+     */
+    @Override
+    public void onStatusChange(Payment payment, PaymentStatus from, PaymentStatus to) {
+        byStatus.get(to).put(payment.getId(), payment);
+        byStatus.get(from).remove(payment.getId());
+    }
+
+    public Payment getPayment(long paymentId) {
+        return paymentsById.get(paymentId);
+    }
+
+    /**
+     * Payments currently in the given status created in [from, to), oldest first.
+     * Lazily walks the index range; weakly consistent with concurrent updates.
+     * An inverted window (from after to) is simply empty.
+     */
+    public Stream<Payment> stream(PaymentStatus status, Instant from, Instant to) {
+        if (from.isAfter(to)) {
+            return Stream.empty();
+        }
+        return byStatus.get(status)
+                       .subMap(IdGenerator.firstIdAt(from), IdGenerator.firstIdAt(to))
+                       .values()
+                       .stream();
+    }
+
+    public int count(PaymentStatus status) {
+        return byStatus.get(status).size();
+    }
+
+    public int size() {
+        return paymentsById.size();
+    }
+}
@@ -0,0 +1,216 @@
+package com.lld.bookmyshow.payment;
+
+import com.lld.bookmyshow.enums.PaymentStatus;
+import com.lld.bookmyshow.exceptions.RequestRejectedException;
+import com.lld.bookmyshow.models.Payment;
+import com.lld.bookmyshow.models.Show;
+import com.lld.bookmyshow.services.BookingService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous payment processing between the gateway and the bookings.
+ *
+ * 1. submit() starts the charge and returns at once with a future for the outcome.
+ * 2. Gateway callbacks land on a queue instead of confirming bookings on the
+ *    gateway's own threads.
+ * 3. One applier thread drains the queue in batches, groups each batch by show, and
+ *    applies every confirmation/failure for a show together. It then waits once for
+ *    the booking journal, so a batch costs one durable write instead of one per payment.
+ *
+ * Backpressure: at most maxOutstanding payments may be between submit() and applied.
+ * When the gateway slows down, callbacks stop returning permits, and submit() waits
+ * up to maxWait for one before rejecting with RequestRejectedException.
+ *
+ * A callback that has not arrived within chargeTimeout is applied as an outcome of its
+ * own: the payment stays PENDING for PaymentReconciliationJob to settle, its future
+ * completes, and its permit comes back. So a silent gateway can neither pin permits
+ * forever nor keep shutdown() waiting.
+ *
+ * DB Insight: Like batching "UPDATE booking SET status = 'CONFIRMED' WHERE booking_id IN (...)"
+ * per show in a single transaction rather than one commit per gateway webhook.
+ */
+public class PaymentPipeline {
+    public static final int DEFAULT_MAX_OUTSTANDING = 1024;
+    public static final int DEFAULT_MAX_BATCH = 256;
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_CHARGE_TIMEOUT = Duration.ofSeconds(30);
+    private static final Logger LOG = Logger.getLogger(PaymentPipeline.class.getName());
+    private static final long POLL_MILLIS = 100;
+
+    private final PaymentGateway gateway;
+    private final BookingService bookingService;
+    private final int maxOutstanding;
+    private final int maxBatch;
+    private final Duration chargeTimeout;
+    private final Semaphore outstanding;
+    private final BlockingQueue<Callback> callbacks;
+    private final AtomicLong batchesApplied;
+    private final Thread applier;
+    private volatile boolean running;
+
+    public PaymentPipeline(PaymentGateway gateway, BookingService bookingService) {
+        this(gateway, bookingService, DEFAULT_MAX_OUTSTANDING, DEFAULT_MAX_BATCH);
+    }
+
+    public PaymentPipeline(PaymentGateway gateway, BookingService bookingService, int maxOutstanding, int maxBatch) {
+        this(gateway, bookingService, maxOutstanding, maxBatch, DEFAULT_CHARGE_TIMEOUT);
+    }
+
+    public PaymentPipeline(PaymentGateway gateway, BookingService bookingService,
+                           int maxOutstanding, int maxBatch, Duration chargeTimeout) {
+        this.gateway = gateway;
+        this.bookingService = bookingService;
+        this.maxOutstanding = maxOutstanding;
+        this.maxBatch = maxBatch;
+        this.chargeTimeout = chargeTimeout;
+        this.outstanding = new Semaphore(maxOutstanding);
+        // Never fills: every queued callback holds one of the maxOutstanding permits.
+        this.callbacks = new ArrayBlockingQueue<>(maxOutstanding);
+        this.batchesApplied = new AtomicLong();
+        this.running = true;
+        this.applier = new Thread(this::applyLoop, "payment-applier");
+        this.applier.setDaemon(true);
+        this.applier.start();
+    }
+
+    public CompletableFuture<Payment> submit(Payment payment) {
+        return submit(payment, DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * Starts the charge. The future completes once the outcome has been applied to the booking;
+     * if the gateway stays silent past chargeTimeout, it completes with the payment still PENDING.
+     */
+    public CompletableFuture<Payment> submit(Payment payment, Duration maxWait) {
+        if (!running) {
+            throw new IllegalStateException("Payment pipeline is shut down");
+        }
+        try {
+            if (!outstanding.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new RequestRejectedException("Payment gateway backlog is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestRejectedException("Interrupted while waiting to submit payment");
+        }
+        if (!running) {
+            // shutdown() raced with us; the applier may already have exited.
+            outstanding.release();
+            throw new IllegalStateException("Payment pipeline is shut down");
+        }
+        CompletableFuture<Boolean> charge;
+        try {
+            charge = gateway.charge(payment);
+        } catch (RuntimeException e) {
+            outstanding.release();
+            throw e;
+        }
+        CompletableFuture<Payment> applied = new CompletableFuture<>();
+        // copy() so the timeout never completes the gateway's own future.
+        charge.copy()
+                .orTimeout(chargeTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((captured, error) ->
+                        callbacks.add(new Callback(payment, outcome(captured, error), applied)));
+        return applied;
+    }
+
+    public int getOutstanding() {
+        return maxOutstanding - outstanding.availablePermits();
+    }
+
+    public long getBatchesApplied() {
+        return batchesApplied.get();
+    }
+
+    /**
+     * Stops accepting payments and waits for outstanding callbacks to be applied.
+     * Bounded by chargeTimeout, since every outstanding charge yields a callback by then.
+     */
+    public void shutdown() throws InterruptedException {
+        running = false;
+        applier.join();
+    }
+
+    private void applyLoop() {
+        List<Callback> batch = new ArrayList<>(maxBatch);
+        while (running || getOutstanding() > 0) {
+            try {
+                Callback first = callbacks.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+            } catch (InterruptedException e) {
+                return;
+            }
+            callbacks.drainTo(batch, maxBatch - 1);
+            applyBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private static PaymentStatus outcome(Boolean captured, Throwable error) {
+        if (error == null) {
+            return Boolean.TRUE.equals(captured) ? PaymentStatus.SUCCESS : PaymentStatus.FAILED;
+        }
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        return cause instanceof TimeoutException ? PaymentStatus.PENDING : PaymentStatus.FAILED;
+    }
+
+    /**
+     * A failure part-way through fails every future in the batch that is still open, and
+     * the permits are always returned so the applier loop and shutdown() can make progress.
+     */
+    private void applyBatch(List<Callback> batch) {
+        try {
+            Map<Show, List<Callback>> byShow = new LinkedHashMap<>();
+            for (Callback callback : batch) {
+                byShow.computeIfAbsent(callback.payment.getBooking().getShow(), s -> new ArrayList<>()).add(callback);
+            }
+            for (List<Callback> showCallbacks : byShow.values()) {
+                for (Callback callback : showCallbacks) {
+                    if (callback.outcome == PaymentStatus.SUCCESS) {
+                        callback.payment.markSuccess();
+                    } else if (callback.outcome == PaymentStatus.FAILED) {
+                        callback.payment.markFailed();
+                    }
+                }
+            }
+            bookingService.awaitJournal();
+            batchesApplied.incrementAndGet();
+            for (Callback callback : batch) {
+                callback.applied.complete(callback.payment);
+            }
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Failed to apply a batch of " + batch.size() + " payment callbacks", e);
+            for (Callback callback : batch) {
+                callback.applied.completeExceptionally(e);
+            }
+        } finally {
+            outstanding.release(batch.size());
+        }
+    }
+
+    private static class Callback {
+        private final Payment payment;
+        private final PaymentStatus outcome;
+        private final CompletableFuture<Payment> applied;
+
+        private Callback(Payment payment, PaymentStatus outcome, CompletableFuture<Payment> applied) {
+            this.payment = payment;
+            this.outcome = outcome;
+            this.applied = applied;
+        }
+    }
+}
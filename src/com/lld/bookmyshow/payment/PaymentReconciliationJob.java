@@ -0,0 +1,75 @@
+package com.lld.bookmyshow.payment;
+
+import com.lld.bookmyshow.enums.PaymentStatus;
+import com.lld.bookmyshow.models.Payment;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Batch job that settles payments the callback path left unresolved.
+ *
+ * For a time window it streams only PENDING and FAILED payments from the ledger's
+ * (status, created_at) index and asks the gateway for the real outcome:
+ * - PENDING: captured → markSuccess (which refunds if the hold already lapsed),
+ *   declined → markFailed (which releases the hold), still unknown → left for the next run.
+ * - FAILED: a payment can be marked FAILED because the gateway call errored even though
+ *   the provider went on to capture the money. Those charges are refunded; their hold
+ *   was already released when they failed.
+ *
+ * Work is proportional to the unresolved payments in the window, not to the ledger size.
+ */
+public class PaymentReconciliationJob {
+    private final PaymentLedger ledger;
+    private final PaymentGateway gateway;
+
+    public PaymentReconciliationJob(PaymentLedger ledger, PaymentGateway gateway) {
+        this.ledger = ledger;
+        this.gateway = gateway;
+    }
+
+    public Result run(Instant from, Instant to) {
+        Result result = new Result();
+        try (Stream<Payment> pending = ledger.stream(PaymentStatus.PENDING, from, to)) {
+            pending.forEach(payment -> {
+                result.checked++;
+                PaymentStatus actual = gateway.queryStatus(payment);
+                if (actual == PaymentStatus.SUCCESS && payment.markSuccess()) {
+                    result.settled++;
+                } else if (actual == PaymentStatus.FAILED && payment.markFailed()) {
+                    result.failed++;
+                } else {
+                    result.unresolved++;
+                }
+            });
+        }
+        try (Stream<Payment> failed = ledger.stream(PaymentStatus.FAILED, from, to)) {
+            failed.forEach(payment -> {
+                result.checked++;
+                if (gateway.queryStatus(payment) == PaymentStatus.SUCCESS && payment.refundFailedCapture()) {
+                    result.refunded++;
+                }
+            });
+        }
+        return result;
+    }
+
+    public static class Result {
+        private int checked;
+        private int settled;
+        private int failed;
+        private int refunded;
+        private int unresolved;
+
+        public int getChecked() { return checked; }
+        public int getSettled() { return settled; }
+        public int getFailed() { return failed; }
+        public int getRefunded() { return refunded; }
+        public int getUnresolved() { return unresolved; }
+
+        @Override
+        public String toString() {
+            return "Reconciliation[checked=" + checked + ", settled=" + settled + ", failed=" + failed +
+                   ", refunded=" + refunded + ", unresolved=" + unresolved + "]";
+        }
+    }
+}
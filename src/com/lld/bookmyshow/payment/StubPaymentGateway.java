@@ -0,0 +1,65 @@
+package com.lld.bookmyshow.payment;
+
+import com.lld.bookmyshow.enums.PaymentStatus;
+import com.lld.bookmyshow.models.Payment;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for a real gateway, for demos and offline load tests.
+ * Calls back after a configurable latency and declines a configurable fraction of charges.
+ * Latency can be changed while running to simulate the provider slowing down.
+ */
+public class StubPaymentGateway implements PaymentGateway {
+    private final ScheduledExecutorService callbacks;
+    private final double declineRate;
+    private final Map<Long, PaymentStatus> outcomes;
+    private volatile long latencyNanos;
+
+    public StubPaymentGateway(Duration latency, double declineRate) {
+        this(latency, declineRate, 2);
+    }
+
+    public StubPaymentGateway(Duration latency, double declineRate, int callbackThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.callbacks = Executors.newScheduledThreadPool(callbackThreads, runnable -> {
+            Thread thread = new Thread(runnable, "stub-gateway-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.declineRate = declineRate;
+        this.outcomes = new ConcurrentHashMap<>();
+        this.latencyNanos = latency.toNanos();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> charge(Payment payment) {
+        CompletableFuture<Boolean> callback = new CompletableFuture<>();
+        boolean captured = ThreadLocalRandom.current().nextDouble() >= declineRate;
+        callbacks.schedule(() -> {
+            outcomes.put(payment.getId(), captured ? PaymentStatus.SUCCESS : PaymentStatus.FAILED);
+            callback.complete(captured);
+        }, latencyNanos, TimeUnit.NANOSECONDS);
+        return callback;
+    }
+
+    @Override
+    public PaymentStatus queryStatus(Payment payment) {
+        return outcomes.getOrDefault(payment.getId(), PaymentStatus.PENDING);
+    }
+
+    public void setLatency(Duration latency) {
+        this.latencyNanos = latency.toNanos();
+    }
+
+    public void shutdown() {
+        callbacks.shutdownNow();
+    }
+}
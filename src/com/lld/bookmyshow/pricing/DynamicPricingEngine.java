@@ -0,0 +1,171 @@
+package com.lld.bookmyshow.pricing;
+
+import com.lld.bookmyshow.enums.SeatType;
+import com.lld.bookmyshow.models.OccupancyListener;
+import com.lld.bookmyshow.models.Show;
+import com.lld.bookmyshow.models.ShowOccupancy;
+import com.lld.bookmyshow.models.ShowSeat;
+import com.lld.bookmyshow.models.ShowSeatStore;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Demand-driven pricing on top of a SeatTypePricingStrategy.
+ *
+ * Each attached show gets a base price per SeatType (computed once from the strategy)
+ * and a demand tier per SeatType. The tier comes from the type's occupancy rate
+ * against ascending thresholds; the published price is base × multiplier[tier].
+ *
+ * The engine listens to the show's occupancy counters. On every hold/release it
+ * recomputes just that type's tier (a few arithmetic ops) and, only when the tier
+ * changes, swaps that one entry of the show's price table. Seats only get visited
+ * when the show carries per-seat price overrides, which are scaled along with their type.
+ *
+ * A bulk reprice of an attached show goes through reprice(), which swaps the base
+ * prices underneath the current tiers instead of overwriting the demand-adjusted table.
+ *
+ * Bookings already holding seats keep the amount they were created with.
+ */
+public class DynamicPricingEngine {
+    private static final double[] DEFAULT_THRESHOLDS = {0.5, 0.75, 0.9};
+    private static final double[] DEFAULT_MULTIPLIERS = {1.0, 1.1, 1.25, 1.5};
+
+    private final SeatTypePricingStrategy baseStrategy;
+    private final double[] thresholds;
+    private final double[] multipliers;
+
+    public DynamicPricingEngine(SeatTypePricingStrategy baseStrategy) {
+        this(baseStrategy, DEFAULT_THRESHOLDS, DEFAULT_MULTIPLIERS);
+    }
+
+    /**
+     * thresholds must be ascending occupancy rates; multipliers needs one more entry
+     * than thresholds (multipliers[0] applies below the first threshold).
+     */
+    public DynamicPricingEngine(SeatTypePricingStrategy baseStrategy, double[] thresholds, double[] multipliers) {
+        if (multipliers.length != thresholds.length + 1) {
+            throw new IllegalArgumentException("Need exactly one more multiplier than thresholds");
+        }
+        this.baseStrategy = baseStrategy;
+        this.thresholds = thresholds.clone();
+        this.multipliers = multipliers.clone();
+    }
+
+    /**
+     * Publishes the show's price table at its current demand and keeps it updated.
+     */
+    public void attach(Show show) {
+        show.getOccupancy().setListener(new ShowDemand(show));
+    }
+
+    public void detach(Show show) {
+        show.getOccupancy().setListener(null);
+    }
+
+    /**
+     * Re-bases an attached show on a new pricing strategy, keeping its current demand tiers.
+     * A SeatTypePricingStrategy replaces the base table; any other strategy prices each
+     * seat and has its prices published as demand-adjusted per-seat overrides.
+     * Returns false, changing nothing, if this engine is not attached to the show.
+     */
+    public boolean reprice(Show show, PricingStrategy strategy) {
+        if (!(show.getOccupancy().getListener() instanceof ShowDemand)) return false;
+        ShowDemand demand = (ShowDemand) show.getOccupancy().getListener();
+        if (demand.engine() != this) return false;
+        if (strategy instanceof SeatTypePricingStrategy) {
+            SeatTypePricingStrategy typeStrategy = (SeatTypePricingStrategy) strategy;
+            double[] basePrices = new double[SeatType.values().length];
+            for (SeatType type : SeatType.values()) {
+                basePrices[type.ordinal()] = typeStrategy.calculatePrice(show, type);
+            }
+            demand.rebase(basePrices);
+        } else {
+            List<ShowSeat> showSeats = show.getShowSeats();
+            double[] seatBasePrices = new double[showSeats.size()];
+            for (ShowSeat showSeat : showSeats) {
+                seatBasePrices[showSeat.getOrdinal()] = strategy.calculatePrice(show, showSeat);
+            }
+            demand.rebaseSeats(seatBasePrices);
+        }
+        return true;
+    }
+
+    int tierFor(double occupancyRate) {
+        int tier = 0;
+        while (tier < thresholds.length && occupancyRate >= thresholds[tier]) {
+            tier++;
+        }
+        return tier;
+    }
+
+    /**
+     * Tier updates stay lock-free on the common path where the tier does not change.
+     * Publishing a price is rare (a tier crossing or a reprice) and is serialized on
+     * this object, so the published entry always reflects the latest base and tier.
+     */
+    private class ShowDemand implements OccupancyListener {
+        private final ShowSeatStore store;
+        private volatile double[] basePrices;
+        private final AtomicIntegerArray tiers;
+
+        private ShowDemand(Show show) {
+            SeatType[] types = SeatType.values();
+            this.store = show.getSeatStore();
+            double[] base = new double[types.length];
+            this.tiers = new AtomicIntegerArray(types.length);
+            // Entry by entry, so per-seat overrides are rescaled rather than discarded.
+            for (SeatType type : types) {
+                int i = type.ordinal();
+                base[i] = baseStrategy.calculatePrice(show, type);
+                tiers.set(i, tierFor(show.getOccupancy().getOccupancyRate(type)));
+                store.setTypePrice(type, base[i] * multipliers[tiers.get(i)]);
+            }
+            this.basePrices = base;
+        }
+
+        private DynamicPricingEngine engine() {
+            return DynamicPricingEngine.this;
+        }
+
+        /**
+         * A new type table replaces any per-seat overrides outright, the same as
+         * ShowSeatStore.setTypePrices(); scaling them would keep stale per-seat prices alive.
+         */
+        private synchronized void rebase(double[] base) {
+            basePrices = base;
+            double[] table = new double[base.length];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = base[i] * multipliers[tiers.get(i)];
+            }
+            store.setTypePrices(table);
+        }
+
+        /**
+         * Type base prices are left as they are; each seat's override is its own base at
+         * its type's current multiplier, and later tier changes scale it from there.
+         */
+        private synchronized void rebaseSeats(double[] seatBasePrices) {
+            double[] prices = new double[seatBasePrices.length];
+            for (int ordinal = 0; ordinal < prices.length; ordinal++) {
+                SeatType type = store.getSeat(ordinal).getSeatType();
+                prices[ordinal] = seatBasePrices[ordinal] * multipliers[tiers.get(type.ordinal())];
+            }
+            store.setSeatPrices(prices);
+        }
+
+        private synchronized void publish(SeatType type) {
+            int i = type.ordinal();
+            store.setTypePrice(type, basePrices[i] * multipliers[tiers.get(i)]);
+        }
+
+        @Override
+        public void onOccupancyChange(ShowOccupancy occupancy, SeatType seatType) {
+            int i = seatType.ordinal();
+            int next = tierFor(occupancy.getOccupancyRate(seatType));
+            int current = tiers.get(i);
+            if (current == next || !tiers.compareAndSet(i, current, next)) return;
+            // publish() reads the tier under the lock, so racing changes settle on the latest one.
+            publish(seatType);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.lld.bookmyshow.pricing;
+
+import com.lld.bookmyshow.enums.SeatType;
+import com.lld.bookmyshow.models.Show;
+import com.lld.bookmyshow.models.ShowSeat;
+
+/**
+ * A PricingStrategy whose price depends only on the show and the seat's type,
+ * so a show can be priced with one entry per SeatType instead of one per seat.
+ */
+public interface SeatTypePricingStrategy extends PricingStrategy {
+    double calculatePrice(Show show, SeatType seatType);
+
+    @Override
+    default double calculatePrice(Show show, ShowSeat showSeat) {
+        return calculatePrice(show, showSeat.getSeat().getSeatType());
+    }
+}
@@ -1,17 +1,17 @@
 package com.lld.bookmyshow.pricing;
 
+import com.lld.bookmyshow.enums.SeatType;
 import com.lld.bookmyshow.models.Show;
-import com.lld.bookmyshow.models.ShowSeat;
 
 /**
  * Pricing varies by show time: morning shows cheaper, prime-time expensive.
  * Weekend surcharge applied. Multiplied with seat base price.
  */
-public class ShowTimePricingStrategy implements PricingStrategy {
+public class ShowTimePricingStrategy implements SeatTypePricingStrategy {
 
     @Override
-    public double calculatePrice(Show show, ShowSeat showSeat) {
-        double basePrice = showSeat.getSeat().getSeatType().getBasePrice();
+    public double calculatePrice(Show show, SeatType seatType) {
+        double basePrice = seatType.getBasePrice();
         double multiplier = getTimeMultiplier(show);
         double weekendSurcharge = isWeekend(show) ? 1.2 : 1.0;
 
@@ -1,27 +1,51 @@
 package com.lld.bookmyshow.services;
 
 import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.enums.SeatType;
 import com.lld.bookmyshow.models.*;
+import com.lld.bookmyshow.payment.PaymentGateway;
+import com.lld.bookmyshow.payment.PaymentLedger;
+import com.lld.bookmyshow.payment.PaymentPipeline;
+import com.lld.bookmyshow.payment.PaymentReconciliationJob;
+import com.lld.bookmyshow.pricing.DynamicPricingEngine;
 import com.lld.bookmyshow.pricing.PricingStrategy;
+import com.lld.bookmyshow.pricing.ShowTimePricingStrategy;
+import com.lld.bookmyshow.snapshot.CatalogueSnapshot;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Facade / Singleton orchestrator that ties all services together.
  * Entry point for the entire system — similar to ParkingLot in parking lot LLD.
+ *
+ * Movies, theatres and shows live in a VersionedCatalogue. Every read goes to the
+ * current version without locks. addMovie/addTheatre/addShow stage their change, and
+ * a run of them is published as one version by the next read, so a bulk load through
+ * the single-item API costs one rebuild rather than one per item.
  */
 public class BookMyShowService {
     private static BookMyShowService instance;
 
-    private final MovieService movieService;
-    private final TheatreService theatreService;
-    private final ShowService showService;
+    private final VersionedCatalogue catalogue;
     private final BookingService bookingService;
+    private final FlashSaleWaitingRoom waitingRoom;
+    private final PaymentLedger paymentLedger;
+    private final DynamicPricingEngine pricingEngine;
+    private volatile PaymentGateway paymentGateway;
+    private volatile PaymentPipeline paymentPipeline;
 
     private BookMyShowService() {
-        this.movieService = new MovieService();
-        this.theatreService = new TheatreService();
-        this.showService = new ShowService(theatreService);
+        this.catalogue = new VersionedCatalogue();
         this.bookingService = new BookingService();
+        this.bookingService.startHoldExpiry();
+        this.waitingRoom = new FlashSaleWaitingRoom();
+        this.paymentLedger = new PaymentLedger();
+        this.pricingEngine = new DynamicPricingEngine(new ShowTimePricingStrategy());
     }
 
     public static synchronized BookMyShowService getInstance() {
@@ -31,47 +55,144 @@ public class BookMyShowService {
         return instance;
     }
 
+    // --- Catalogue ---
+    public VersionedCatalogue.Batch newCatalogueBatch() {
+        return catalogue.newBatch();
+    }
+
+    /**
+     * Publishes every change in the batch as one new catalogue version.
+     */
+    public CatalogueVersion publishCatalogue(VersionedCatalogue.Batch batch) {
+        return catalogue.publish(batch);
+    }
+
+    public CatalogueVersion getCatalogue() {
+        return catalogue.current();
+    }
+
     // --- Movie operations ---
     public void addMovie(Movie movie) {
-        movieService.addMovie(movie);
+        catalogue.stage(catalogue.newBatch().addMovie(movie));
     }
 
     public List<Movie> searchMovies(String keyword) {
-        return movieService.searchByTitle(keyword);
+        return catalogue.current().searchMovies(keyword);
+    }
+
+    public List<Movie> suggestMovies(String prefix) {
+        return catalogue.current().suggestMovies(prefix);
+    }
+
+    public List<Movie> filterMovies(List<String> languages, List<String> genres) {
+        return catalogue.current().filterMovies(languages, genres);
+    }
+
+    public List<Movie> getTopRatedMovies(List<String> languages, List<String> genres, int limit) {
+        return catalogue.current().getTopRatedMovies(languages, genres, limit);
     }
 
     // --- Theatre operations ---
     public void addTheatre(Theatre theatre) {
-        theatreService.addTheatre(theatre);
+        catalogue.stage(catalogue.newBatch().addTheatre(theatre));
     }
 
     public List<Theatre> getTheatresInCity(City city) {
-        return theatreService.getTheatresByCity(city);
+        return catalogue.current().getTheatresInCity(city);
     }
 
     // --- Show operations ---
     public void addShow(Show show) {
         show.initializeSeats();
-        showService.addShow(show);
+        catalogue.stage(catalogue.newBatch().addShow(show));
     }
 
+    public Show getShow(String showId) {
+        return catalogue.current().getShow(showId);
+    }
+
+    /**
+     * Shows with dynamic pricing attached are re-based through the engine so they keep
+     * their demand tiers.
+     */
     public void applyPricing(Show show, PricingStrategy strategy) {
-        showService.applyPricing(show, strategy);
+        if (!pricingEngine.reprice(show, strategy)) {
+            catalogue.current().getShowService().applyPricing(show, strategy);
+        }
+    }
+
+    /**
+     * Reprices every show starting in [from, to] in parallel, partitioned by city and date.
+     * Prices are live seat state, so this reprices the current version's shows in place.
+     */
+    public int repriceShows(LocalDate from, LocalDate to, PricingStrategy strategy) {
+        return new BulkRepricingJob(catalogue.current().getShowService(), pricingEngine).reprice(from, to, strategy);
+    }
+
+    /**
+     * Prices the show by show time and seat type, then raises a type's price as its
+     * occupancy crosses demand thresholds.
+     */
+    public void enableDynamicPricing(Show show) {
+        pricingEngine.attach(show);
     }
 
     public List<Show> getShowsForMovie(Movie movie, City city) {
-        return showService.getShowsForMovieInCity(movie, city);
+        return catalogue.current().getShowsForMovie(movie, city);
+    }
+
+    public List<Show> getShowsForMovie(Movie movie, City city, LocalDate date) {
+        return catalogue.current().getShowsForMovie(movie, city, date);
+    }
+
+    /**
+     * Drops all shows dated before the given date (e.g. yesterday) by publishing a version
+     * without them. Returns the number of shows dropped.
+     */
+    public synchronized int dropShowsBefore(LocalDate date) {
+        int before = catalogue.current().getAllShows().size();
+        CatalogueVersion next = catalogue.publish(catalogue.newBatch().removeShowsBefore(date));
+        return before - next.getAllShows().size();
     }
 
     public List<ShowSeat> getAvailableSeats(Show show) {
         return show.getAvailableSeats();
     }
 
+    public ShowOccupancy getShowOccupancy(Show show) {
+        return show.getOccupancy();
+    }
+
+    public SeatMapSnapshot getSeatMap(Show show) {
+        return show.getSeatMap();
+    }
+
+    public SeatMapDelta getSeatMapChanges(Show show, long sinceVersion) {
+        return show.getSeatMapChangesSince(sinceVersion);
+    }
+
     // --- Booking operations ---
     public Booking bookSeats(User user, Show show, List<ShowSeat> seats) {
+        waitingRoom.admit(show);
         return bookingService.createBooking(user, show, seats);
     }
 
+    public Booking bookBestAvailable(User user, Show show, SeatType seatType, int count) {
+        waitingRoom.admit(show);
+        return bookingService.createBestAvailableBooking(user, show, seatType, count);
+    }
+
+    /**
+     * Puts booking attempts for this show behind a waiting room released at the given rate.
+     */
+    public void openWaitingRoom(Show show, double releasePerSecond, int burst, Duration maxWait) {
+        waitingRoom.open(show, releasePerSecond, burst, maxWait);
+    }
+
+    public void closeWaitingRoom(Show show) {
+        waitingRoom.close(show);
+    }
+
     public void confirmBooking(String bookingId) {
         bookingService.confirmBooking(bookingId);
     }
@@ -80,12 +201,96 @@ public class BookMyShowService {
         bookingService.cancelBooking(bookingId);
     }
 
+    public void confirmBooking(long bookingId) {
+        bookingService.confirmBooking(bookingId);
+    }
+
+    public void cancelBooking(long bookingId) {
+        bookingService.cancelBooking(bookingId);
+    }
+
+    // --- Payment operations ---
+    /**
+     * Routes payments through an asynchronous, batched pipeline on the given gateway.
+     */
+    public synchronized void enablePayments(PaymentGateway gateway) {
+        if (paymentPipeline != null) {
+            throw new IllegalStateException("Payments already enabled");
+        }
+        paymentGateway = gateway;
+        paymentPipeline = new PaymentPipeline(gateway, bookingService);
+    }
+
+    /**
+     * Starts payment for a PENDING booking; the future completes once the booking is
+     * confirmed (or released, if the charge was declined).
+     */
+    public CompletableFuture<Payment> payForBooking(Booking booking, String paymentMethod) {
+        PaymentPipeline pipeline = paymentPipeline;
+        if (pipeline == null) {
+            throw new IllegalStateException("Payments not enabled; call enablePayments first");
+        }
+        return pipeline.submit(paymentLedger.create(booking, paymentMethod));
+    }
+
+    /**
+     * Settles PENDING payments created in [from, to) against the gateway, and refunds
+     * FAILED ones the gateway reports as captured after all.
+     */
+    public PaymentReconciliationJob.Result reconcilePayments(Instant from, Instant to) {
+        PaymentGateway gateway = paymentGateway;
+        if (gateway == null) {
+            throw new IllegalStateException("Payments not enabled; call enablePayments first");
+        }
+        return new PaymentReconciliationJob(paymentLedger, gateway).run(from, to);
+    }
+
+    public PaymentLedger getPaymentLedger() {
+        return paymentLedger;
+    }
+
     public List<Booking> getUserBookings(User user) {
         return bookingService.getBookingsForUser(user);
     }
 
+    public List<Booking> getUpcomingBookings(User user) {
+        return bookingService.getUpcomingConfirmedBookings(user);
+    }
+
+    /**
+     * Replays the booking journal onto the loaded catalogue and starts journaling.
+     * Call after all shows are added and before taking bookings.
+     */
+    public void enableBookingJournal(Path directory) throws IOException {
+        bookingService.recoverFromJournal(directory, showId -> catalogue.current().getShow(showId));
+    }
+
+    // --- Catalogue snapshot (cold start) ---
+    public void saveCatalogue(Path file) throws IOException {
+        CatalogueVersion version = catalogue.current();
+        CatalogueSnapshot.write(file, version.getAllMovies(), version.getAllTheatres(), version.getAllShows());
+    }
+
+    /**
+     * Loads a catalogue snapshot into this (empty) instance and publishes the loaded
+     * services directly as the next version.
+     * Pricing must be re-applied afterwards.
+     */
+    public int loadCatalogue(Path file) throws IOException {
+        MovieService movieService = new MovieService();
+        TheatreService theatreService = new TheatreService();
+        ShowService showService = new ShowService(theatreService);
+        int loaded = CatalogueSnapshot.load(file, movieService, theatreService, showService);
+        // The loader already built these indexes in parallel; publish them as they are.
+        catalogue.publish(movieService, theatreService, showService);
+        return loaded;
+    }
+
     // --- Reset for testing ---
-    public static void resetInstance() {
+    public static synchronized void resetInstance() {
+        if (instance != null) {
+            instance.bookingService.stopHoldExpiry();
+        }
         instance = null;
     }
 }
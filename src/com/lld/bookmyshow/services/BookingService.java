@@ -1,12 +1,29 @@
 package com.lld.bookmyshow.services;
 
 import com.lld.bookmyshow.enums.BookingStatus;
+import com.lld.bookmyshow.enums.JournalEventType;
+import com.lld.bookmyshow.enums.SeatType;
 import com.lld.bookmyshow.exceptions.SeatNotAvailableException;
+import com.lld.bookmyshow.ids.IdGenerator;
+import com.lld.bookmyshow.journal.BookingJournal;
+import com.lld.bookmyshow.journal.JournalEvent;
 import com.lld.bookmyshow.models.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Handles seat locking and booking creation.
@@ -17,72 +34,310 @@ import java.util.Map;
  *
  * Transaction isolation: READ COMMITTED is sufficient here because we
  * lock specific rows, not ranges.
+ *
+ * Concurrency: no service-wide monitor. Each seat is claimed with a CAS on its
+ * Show's availability bitmap, so bookings for different shows never contend.
+ *
+ * Hold expiry: every PENDING booking is registered on a HoldExpiryWheel. Once the
+ * hold window passes without confirmation, the booking is expired and its seats
+ * return to availability.
+ *
+ * Durability (optional): once a BookingJournal is attached, every create and status
+ * change is appended to it, and createBooking/confirmBooking/cancelBooking return only
+ * after their record is on disk (group-committed). recoverFromJournal() replays it on startup.
  */
 public class BookingService {
-    private final Map<String, Booking> bookingsById;
+    private static final Logger LOG = Logger.getLogger(BookingService.class.getName());
+
+    public static final Duration DEFAULT_HOLD_DURATION = Duration.ofMinutes(5);
+    private static final Duration WHEEL_TICK = Duration.ofSeconds(1);
+    private static final int WHEEL_SIZE = 512;
+    private static final int MAX_ALLOCATION_ATTEMPTS = 3;
+
+    private final Map<Long, Booking> bookingsById;
+    private final UserBookingIndex userBookingIndex;
+    private final Duration holdDuration;
+    private final Duration wheelTick;
+    private final HoldExpiryWheel holdExpiryWheel;
+    private final IdGenerator idGenerator;
+    private final BookingStatusListener statusListener;
+    private ScheduledExecutorService expiryTicker;
+    private volatile BookingJournal journal;
 
     public BookingService() {
-        this.bookingsById = new HashMap<>();
+        this(IdGenerator.DEFAULT);
+    }
+
+    public BookingService(IdGenerator idGenerator) {
+        this(DEFAULT_HOLD_DURATION, WHEEL_TICK, idGenerator);
+    }
+
+    public BookingService(Duration holdDuration, Duration wheelTick) {
+        this(holdDuration, wheelTick, IdGenerator.DEFAULT);
+    }
+
+    public BookingService(Duration holdDuration, Duration wheelTick, IdGenerator idGenerator) {
+        this.bookingsById = new ConcurrentHashMap<>();
+        this.userBookingIndex = new UserBookingIndex();
+        this.holdDuration = holdDuration;
+        this.wheelTick = wheelTick;
+        this.holdExpiryWheel = new HoldExpiryWheel(wheelTick, WHEEL_SIZE);
+        this.idGenerator = idGenerator;
+        this.statusListener = this::onStatusChange;
+    }
+
+    private void onStatusChange(Booking booking, BookingStatus from, BookingStatus to) {
+        userBookingIndex.onStatusChange(booking, from, to);
+        BookingJournal current = journal;
+        if (current != null) {
+            current.append(journalEventFor(to), booking);
+        }
+    }
+
+    private static JournalEventType journalEventFor(BookingStatus status) {
+        switch (status) {
+            case CONFIRMED: return JournalEventType.CONFIRM;
+            case CANCELLED: return JournalEventType.CANCEL;
+            case EXPIRED: return JournalEventType.EXPIRE;
+            default: throw new IllegalArgumentException("No journal event for " + status);
+        }
+    }
+
+    /**
+     * Starts a daemon thread that advances the expiry wheel once per tick.
+     */
+    public synchronized void startHoldExpiry() {
+        if (expiryTicker != null) return;
+        expiryTicker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hold-expiry-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = wheelTick.toMillis();
+        // scheduleAtFixedRate silently cancels the task on its first uncaught exception.
+        expiryTicker.scheduleAtFixedRate(() -> {
+            try {
+                expireDueHolds();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Hold expiry tick failed", e);
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopHoldExpiry() {
+        if (expiryTicker != null) {
+            expiryTicker.shutdownNow();
+            expiryTicker = null;
+        }
+    }
+
+    /**
+     * Expires every hold whose deadline has passed. Returns the number of bookings expired.
+     */
+    public int expireDueHolds() {
+        return holdExpiryWheel.advance();
     }
 
     /**
      * Atomically locks requested seats and creates a PENDING booking.
      * In DB: BEGIN → SELECT ... FOR UPDATE on show_seat rows → INSERT booking → COMMIT.
+     * Seats are claimed in ascending ordinal order (like ORDER BY seat_id in the FOR UPDATE),
+     * so two overlapping requests always collide on the same first seat.
      * If any seat is already booked, rolls back all locks.
      */
-    public synchronized Booking createBooking(User user, Show show, List<ShowSeat> requestedSeats) {
-        List<ShowSeat> lockedSeats = new ArrayList<>();
-
-        try {
-            for (ShowSeat showSeat : requestedSeats) {
-                if (!showSeat.lockSeat()) {
-                    rollbackLockedSeats(lockedSeats);
-                    throw new SeatNotAvailableException(
-                        "Seat " + showSeat.getSeat() + " is no longer available");
-                }
-                lockedSeats.add(showSeat);
-            }
+    public Booking createBooking(User user, Show show, List<ShowSeat> requestedSeats) {
+        if (show.getAvailableSeatCount() < requestedSeats.size()) {
+            throw new SeatNotAvailableException("Show " + show.getShowId() + " does not have "
+                + requestedSeats.size() + " seats left");
+        }
+        List<ShowSeat> orderedSeats = new ArrayList<>(requestedSeats);
+        orderedSeats.sort(Comparator.comparingInt(ShowSeat::getOrdinal));
+        List<ShowSeat> lockedSeats = new ArrayList<>(orderedSeats.size());
 
-            double totalAmount = 0;
-            for (ShowSeat seat : lockedSeats) {
-                totalAmount += seat.getPrice();
+        for (ShowSeat showSeat : orderedSeats) {
+            if (showSeat.getShow() != show) {
+                rollbackLockedSeats(lockedSeats);
+                throw new IllegalArgumentException(
+                    "Seat " + showSeat.getSeat() + " does not belong to show " + show.getShowId());
+            }
+            if (!showSeat.lockSeat()) {
+                rollbackLockedSeats(lockedSeats);
+                throw new SeatNotAvailableException(
+                    "Seat " + showSeat.getSeat() + " is no longer available");
             }
+            lockedSeats.add(showSeat);
+        }
 
-            Booking booking = new Booking(user, show, lockedSeats, totalAmount);
-            bookingsById.put(booking.getBookingId(), booking);
-            return booking;
+        int[] ordinals = new int[lockedSeats.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = lockedSeats.get(i).getOrdinal();
+        }
+        double totalAmount = show.getSeatStore().getTotalPrice(ordinals);
 
-        } catch (SeatNotAvailableException e) {
-            throw e;
+        Booking booking = new Booking(idGenerator.nextId(), user, show, lockedSeats, totalAmount, statusListener);
+        // Journal first: if the append fails, nothing has been published yet and the seats go back.
+        BookingJournal current = journal;
+        if (current != null) {
+            long position;
+            try {
+                position = current.append(JournalEventType.CREATE, booking);
+            } catch (RuntimeException e) {
+                rollbackLockedSeats(lockedSeats);
+                throw e;
+            }
+            try {
+                current.awaitDurable(position);
+            } catch (RuntimeException e) {
+                rollbackLockedSeats(lockedSeats);
+                // The CREATE may still reach disk; an EXPIRE behind it keeps replay from re-holding the seats.
+                try {
+                    current.append(JournalEventType.EXPIRE, booking);
+                } catch (RuntimeException ignored) {
+                    // Journal closed meanwhile; nothing more to record.
+                }
+                throw e;
+            }
         }
+        bookingsById.put(booking.getId(), booking);
+        userBookingIndex.add(booking);
+        holdExpiryWheel.schedule(booking, holdDuration);
+        return booking;
+    }
+
+    /**
+     * Picks the best block of adjacent seats server-side and locks it in one call.
+     * If another booking grabs part of the block between search and lock, searches again.
+     */
+    public Booking createBestAvailableBooking(User user, Show show, SeatType seatType, int count) {
+        for (int attempt = 0; attempt < MAX_ALLOCATION_ATTEMPTS; attempt++) {
+            List<ShowSeat> block = show.findBestAvailable(seatType, count);
+            if (block.isEmpty()) break;
+            try {
+                return createBooking(user, show, block);
+            } catch (SeatNotAvailableException e) {
+                // Lost the race for part of the block; look again.
+            }
+        }
+        throw new SeatNotAvailableException(
+            "No " + count + " adjacent " + seatType + " seats available for show " + show.getShowId());
     }
 
     public void confirmBooking(String bookingId) {
+        confirmBooking(IdGenerator.parse(bookingId));
+    }
+
+    public void confirmBooking(long bookingId) {
         Booking booking = bookingsById.get(bookingId);
-        if (booking != null && booking.getStatus() == BookingStatus.PENDING) {
-            booking.confirm();
+        if (booking != null && booking.confirm()) {
+            awaitJournal();
         }
     }
 
     public void cancelBooking(String bookingId) {
+        cancelBooking(IdGenerator.parse(bookingId));
+    }
+
+    public void cancelBooking(long bookingId) {
         Booking booking = bookingsById.get(bookingId);
-        if (booking != null && booking.getStatus() != BookingStatus.CANCELLED) {
-            booking.cancel();
+        if (booking != null && booking.cancel()) {
+            awaitJournal();
         }
     }
 
     public Booking getBooking(String bookingId) {
+        return getBooking(IdGenerator.parse(bookingId));
+    }
+
+    public Booking getBooking(long bookingId) {
         return bookingsById.get(bookingId);
     }
 
+    /**
+     * Direct lookup on the per-user index instead of scanning every booking.
+     */
     public List<Booking> getBookingsForUser(User user) {
-        List<Booking> result = new ArrayList<>();
-        for (Booking booking : bookingsById.values()) {
-            if (booking.getUser().getUserId().equals(user.getUserId())) {
-                result.add(booking);
+        return userBookingIndex.getBookings(user.getUserId());
+    }
+
+    public List<Booking> getBookingsForUser(User user, BookingStatus status) {
+        return userBookingIndex.getBookings(user.getUserId(), status);
+    }
+
+    public List<Booking> getUpcomingConfirmedBookings(User user) {
+        return userBookingIndex.getUpcomingConfirmed(user.getUserId(), LocalDateTime.now());
+    }
+
+    /**
+     * Replays the journal in the given directory onto the already-loaded shows, then
+     * attaches it so new events are recorded. Must run after the catalogue is loaded
+     * and before booking traffic starts. PENDING holds are re-armed with whatever is
+     * left of their window; holds that lapsed while down expire on the next tick.
+     */
+    public synchronized void recoverFromJournal(Path directory, Function<String, Show> showLookup) throws IOException {
+        if (journal != null) {
+            throw new IllegalStateException("Journal already attached");
+        }
+        Map<Long, Booking> pending = new LinkedHashMap<>();
+        BookingJournal opened = BookingJournal.open(directory, event -> replay(event, showLookup, pending));
+        journal = opened;
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Booking booking : pending.values()) {
+            Duration elapsed = Duration.between(booking.getBookingTime(), now);
+            holdExpiryWheel.schedule(booking, holdDuration.minus(elapsed));
+        }
+    }
+
+    /**
+     * Detaches the journal before closing it, so new bookings stop appending to it first.
+     */
+    public synchronized void closeJournal() throws IOException {
+        BookingJournal closing = journal;
+        if (closing != null) {
+            journal = null;
+            closing.close();
+        }
+    }
+
+    private void replay(JournalEvent event, Function<String, Show> showLookup, Map<Long, Booking> pending) {
+        if (event.getType() == JournalEventType.CREATE) {
+            Show show = showLookup.apply(event.getShowId());
+            if (show == null) return;
+            List<ShowSeat> seats = new ArrayList<>(event.getSeatOrdinals().length);
+            for (int ordinal : event.getSeatOrdinals()) {
+                ShowSeat seat = show.getShowSeat(ordinal);
+                seat.lockSeat();
+                seats.add(seat);
             }
+            User user = new User(event.getUserId(), event.getUserName(), event.getUserEmail(), event.getUserPhone());
+            Booking booking = new Booking(event.getBookingId(), user, show, seats, event.getTotalAmount(),
+                    event.getBookingTime(), statusListener);
+            idGenerator.reserveThrough(booking.getId());
+            bookingsById.put(booking.getId(), booking);
+            userBookingIndex.add(booking);
+            pending.put(booking.getId(), booking);
+            return;
+        }
+
+        Booking booking = bookingsById.get(event.getBookingId());
+        if (booking == null) return;
+        switch (event.getType()) {
+            case CONFIRM: booking.confirm(); break;
+            case CANCEL: booking.cancel(); break;
+            case EXPIRE: booking.expire(); break;
+            default: break;
+        }
+        pending.remove(booking.getId());
+    }
+
+    /**
+     * Waits until every event appended so far is durable. No-op without a journal.
+     */
+    public void awaitJournal() {
+        BookingJournal current = journal;
+        if (current != null) {
+            current.awaitDurable(current.getAppendedPosition());
         }
-        return result;
     }
 
     private void rollbackLockedSeats(List<ShowSeat> lockedSeats) {
@@ -0,0 +1,124 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.models.Show;
+import com.lld.bookmyshow.pricing.DynamicPricingEngine;
+import com.lld.bookmyshow.pricing.PricingStrategy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Reprices every show in a date range when a pricing rule changes.
+ *
+ * Shows are grouped into (city, date) partitions in one pass, then each partition is
+ * a fork-join task that splits itself in half until it is down to a small batch of
+ * shows. Each show is repriced through ShowService.applyPricing, which computes the
+ * new prices first and publishes them in one step, so a reader sees each show either
+ * fully at its old prices or fully at its new ones.
+ *
+ * Shows with dynamic pricing attached are re-based through the engine instead, so
+ * the new prices take effect at the show's current demand tier rather than wiping it.
+ */
+public class BulkRepricingJob {
+    private static final int SHOWS_PER_LEAF = 32;
+
+    private final ShowService showService;
+    private final DynamicPricingEngine pricingEngine;
+    private final ForkJoinPool pool;
+
+    public BulkRepricingJob(ShowService showService) {
+        this(showService, null);
+    }
+
+    public BulkRepricingJob(ShowService showService, DynamicPricingEngine pricingEngine) {
+        this(showService, pricingEngine, ForkJoinPool.commonPool());
+    }
+
+    public BulkRepricingJob(ShowService showService, DynamicPricingEngine pricingEngine, ForkJoinPool pool) {
+        this.showService = showService;
+        this.pricingEngine = pricingEngine;
+        this.pool = pool;
+    }
+
+    /**
+     * Reprices shows starting on dates in [from, to]. Returns the number of shows repriced.
+     */
+    public int reprice(LocalDate from, LocalDate to, PricingStrategy strategy) {
+        List<List<Show>> partitions = partition(from, to);
+        return pool.invoke(new RecursiveTask<Integer>() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected Integer compute() {
+                List<Reprice> tasks = new ArrayList<>(partitions.size());
+                for (List<Show> partition : partitions) {
+                    tasks.add(new Reprice(partition, 0, partition.size(), strategy));
+                }
+                int repriced = 0;
+                for (Reprice task : invokeAll(tasks)) {
+                    repriced += task.join();
+                }
+                return repriced;
+            }
+        });
+    }
+
+    private List<List<Show>> partition(LocalDate from, LocalDate to) {
+        Map<City, Map<LocalDate, List<Show>>> byCityAndDate = new EnumMap<>(City.class);
+        for (Show show : showService.getShowsBetween(from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            LocalDate date = show.getStartTime().toLocalDate();
+            City city = showService.getCity(show);
+            byCityAndDate.computeIfAbsent(city, c -> new TreeMap<>())
+                         .computeIfAbsent(date, d -> new ArrayList<>())
+                         .add(show);
+        }
+        List<List<Show>> partitions = new ArrayList<>();
+        for (Map<LocalDate, List<Show>> byDate : byCityAndDate.values()) {
+            partitions.addAll(byDate.values());
+        }
+        return partitions;
+    }
+
+    private void reprice(Show show, PricingStrategy strategy) {
+        if (pricingEngine == null || !pricingEngine.reprice(show, strategy)) {
+            showService.applyPricing(show, strategy);
+        }
+    }
+
+    private class Reprice extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Show> shows;
+        private final int start;
+        private final int end;
+        private final PricingStrategy strategy;
+
+        private Reprice(List<Show> shows, int start, int end, PricingStrategy strategy) {
+            this.shows = shows;
+            this.start = start;
+            this.end = end;
+            this.strategy = strategy;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (end - start <= SHOWS_PER_LEAF) {
+                for (int i = start; i < end; i++) {
+                    reprice(shows.get(i), strategy);
+                }
+                return end - start;
+            }
+            int mid = (start + end) >>> 1;
+            Reprice left = new Reprice(shows, start, mid, strategy);
+            left.fork();
+            int right = new Reprice(shows, mid, end, strategy).compute();
+            return left.join() + right;
+        }
+    }
+}
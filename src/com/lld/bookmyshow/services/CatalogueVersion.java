@@ -0,0 +1,135 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.models.Movie;
+import com.lld.bookmyshow.models.Screen;
+import com.lld.bookmyshow.models.Show;
+import com.lld.bookmyshow.models.Theatre;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One immutable version of the catalogue: movies, theatres and shows with all their
+ * indexes, as published by VersionedCatalogue.
+ *
+ * The services inside are fully built and their lazy caches warmed before the version
+ * is published, and nothing writes to them afterwards, so any number of threads can
+ * query a version without locks and always see one consistent catalogue.
+ * Seat availability and prices are not part of the version: Show objects are shared
+ * across versions and their seat state stays live.
+ */
+public class CatalogueVersion {
+    private final long version;
+    private final MovieService movieService;
+    private final TheatreService theatreService;
+    private final ShowService showService;
+
+    CatalogueVersion(long version, Collection<Movie> movies, Collection<Theatre> theatres, Collection<Show> shows) {
+        this.version = version;
+        this.movieService = new MovieService();
+        this.theatreService = new TheatreService();
+        this.showService = new ShowService(theatreService);
+        for (Movie movie : movies) {
+            movieService.addMovie(movie);
+        }
+        for (Theatre theatre : theatres) {
+            theatreService.addTheatre(theatre);
+        }
+        warmCaches();
+        for (Show show : shows) {
+            showService.addShow(show);
+        }
+    }
+
+    /**
+     * Adopts services that are already filled; only the lazy caches are warmed here.
+     */
+    CatalogueVersion(long version, MovieService movieService, TheatreService theatreService, ShowService showService) {
+        this.version = version;
+        this.movieService = movieService;
+        this.theatreService = theatreService;
+        this.showService = showService;
+        warmCaches();
+    }
+
+    private void warmCaches() {
+        for (Theatre theatre : theatreService.getAllTheatres()) {
+            for (Screen screen : theatre.getScreens()) {
+                screen.getLayout();
+                screen.getRowLayout();
+            }
+        }
+        for (City city : City.values()) {
+            theatreService.getTheatresByCity(city);
+        }
+    }
+
+    public long getVersion() { return version; }
+
+    // --- Movies ---
+    public Movie getMovie(String movieId) {
+        return movieService.getMovie(movieId);
+    }
+
+    public List<Movie> searchMovies(String keyword) {
+        return movieService.searchByTitle(keyword);
+    }
+
+    public List<Movie> suggestMovies(String prefix) {
+        return movieService.searchByTitlePrefix(prefix);
+    }
+
+    public List<Movie> filterMovies(Collection<String> languages, Collection<String> genres) {
+        return movieService.filterMovies(languages, genres);
+    }
+
+    public List<Movie> getTopRatedMovies(Collection<String> languages, Collection<String> genres, int limit) {
+        return movieService.getTopRated(languages, genres, limit);
+    }
+
+    public List<Movie> getAllMovies() {
+        return movieService.getAllMovies();
+    }
+
+    // --- Theatres ---
+    public Theatre getTheatre(String theatreId) {
+        return theatreService.getTheatre(theatreId);
+    }
+
+    public List<Theatre> getTheatresInCity(City city) {
+        return theatreService.getTheatresByCity(city);
+    }
+
+    public List<Theatre> getAllTheatres() {
+        return theatreService.getAllTheatres();
+    }
+
+    // --- Shows ---
+    public Show getShow(String showId) {
+        return showService.getShow(showId);
+    }
+
+    public List<Show> getShowsForMovie(Movie movie, City city) {
+        return showService.getShowsForMovieInCity(movie, city);
+    }
+
+    public List<Show> getShowsForMovie(Movie movie, City city, LocalDate date) {
+        return showService.getShowsForMovieInCity(movie, city, date);
+    }
+
+    public List<Show> getAllShows() {
+        return showService.getAllShows();
+    }
+
+    boolean hasScreen(String screenId) {
+        return theatreService.getScreenRegistry().getTheatre(screenId) != null;
+    }
+
+    /**
+     * For jobs that write only live seat state (e.g. bulk repricing), never the indexes.
+     */
+    ShowService getShowService() {
+        return showService;
+    }
+}
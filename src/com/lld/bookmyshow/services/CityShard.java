@@ -0,0 +1,80 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.ids.IdGenerator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * One city's partition of the system: its own movie, theatre, show and booking
+ * services, plus its own executor. Nothing here is shared with other cities,
+ * so a booking burst in one city never touches another city's maps, locks or threads.
+ *
+ * The executor is deliberately a single thread: the movie, theatre and show services
+ * are not thread-safe, and this is what keeps them confined.
+ */
+public class CityShard {
+    private final City city;
+    private final MovieService movieService;
+    private final TheatreService theatreService;
+    private final ShowService showService;
+    private final BookingService bookingService;
+    private final ExecutorService executor;
+
+    public CityShard(City city) {
+        this.city = city;
+        this.movieService = new MovieService();
+        this.theatreService = new TheatreService();
+        this.showService = new ShowService(theatreService);
+        this.bookingService = new BookingService(new IdGenerator(city.ordinal() + 1));
+        this.bookingService.startHoldExpiry();
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shard-" + city.name().toLowerCase());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /**
+     * Runs the task on this shard's executor and waits, rethrowing the task's own exception.
+     */
+    public <T> T call(Supplier<T> task) {
+        return join(submit(task));
+    }
+
+    public void run(Runnable task) {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public void shutdown() {
+        bookingService.stopHoldExpiry();
+        executor.shutdown();
+    }
+
+    public City getCity() { return city; }
+    public MovieService getMovieService() { return movieService; }
+    public TheatreService getTheatreService() { return theatreService; }
+    public ShowService getShowService() { return showService; }
+    public BookingService getBookingService() { return bookingService; }
+}
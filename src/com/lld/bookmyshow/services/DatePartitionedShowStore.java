@@ -0,0 +1,177 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.models.Show;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Show storage split into one segment per show date.
+ *
+ * - segments: show_date → Segment, in date order. Each segment holds that day's shows
+ *   by ID and by start time.
+ * - dateByShowId: the only cross-date structure, so getShow(id) is two hash lookups.
+ *
+ * A start-time range query visits only the segments for the dates it covers.
+ * Past dates are dropped a whole segment at a time (dropBefore), so the store holds
+ * a rolling window of dates and its size stays flat instead of growing forever.
+ * A segment emptied by remove() is unlinked as well, so dates whose shows were all
+ * removed or moved do not linger as empty partitions.
+ *
+ * DB Insight: The `show` table RANGE-partitioned by show_date. Queries with a date
+ * predicate get partition pruning, and retention is ALTER TABLE ... DROP PARTITION
+ * instead of a DELETE of 200K rows a day.
+ */
+public class DatePartitionedShowStore {
+    private final ConcurrentNavigableMap<LocalDate, Segment> segments;
+    private final Map<String, LocalDate> dateByShowId;
+
+    public DatePartitionedShowStore() {
+        this.segments = new ConcurrentSkipListMap<>();
+        this.dateByShowId = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Stores the show, replacing any show with the same ID. Returns the replaced show, or null.
+     */
+    public Show put(Show show) {
+        Show previous = remove(show.getShowId());
+        LocalDate date = show.getStartTime().toLocalDate();
+        // A retired segment was unlinked before remove() released its lock, so one retry
+        // is enough to land on a fresh segment.
+        Segment segment;
+        do {
+            segment = segments.computeIfAbsent(date, d -> new Segment());
+        } while (!segment.add(show));
+        dateByShowId.put(show.getShowId(), date);
+        return previous;
+    }
+
+    public Show get(String showId) {
+        LocalDate date = dateByShowId.get(showId);
+        if (date == null) return null;
+        Segment segment = segments.get(date);
+        return segment == null ? null : segment.get(showId);
+    }
+
+    public Show remove(String showId) {
+        LocalDate date = dateByShowId.remove(showId);
+        if (date == null) return null;
+        Segment segment = segments.get(date);
+        if (segment == null) return null;
+        synchronized (segment) {
+            Show show = segment.remove(showId);
+            if (segment.isEmpty()) {
+                // Retire under the segment lock so no add() can slip in before it is unlinked.
+                segment.retired = true;
+                segments.remove(date, segment);
+            }
+            return show;
+        }
+    }
+
+    /**
+     * Shows starting in [from, to), in start-time order. Touches only the segments for
+     * the dates from..to.
+     */
+    public List<Show> findBetween(LocalDateTime from, LocalDateTime to) {
+        List<Show> result = new ArrayList<>();
+        if (!from.isBefore(to)) return result;
+        for (Segment segment : segments.subMap(from.toLocalDate(), true, to.toLocalDate(), true).values()) {
+            segment.collectBetween(from, to, result);
+        }
+        return result;
+    }
+
+    public List<Show> getAll() {
+        List<Show> result = new ArrayList<>(dateByShowId.size());
+        for (Segment segment : segments.values()) {
+            segment.collectAll(result);
+        }
+        return result;
+    }
+
+    /**
+     * Drops every segment dated before the given date, in one step per segment, and
+     * returns the dropped shows so callers can clean up their own indexes.
+     * Meant for dates already in the past; shows should not be added to them concurrently.
+     */
+    public List<Show> dropBefore(LocalDate date) {
+        List<Show> dropped = new ArrayList<>();
+        for (Map.Entry<LocalDate, Segment> entry : segments.headMap(date, false).entrySet()) {
+            if (segments.remove(entry.getKey(), entry.getValue())) {
+                int start = dropped.size();
+                entry.getValue().collectAll(dropped);
+                for (int i = start; i < dropped.size(); i++) {
+                    dateByShowId.remove(dropped.get(i).getShowId(), entry.getKey());
+                }
+            }
+        }
+        return dropped;
+    }
+
+    public int size() {
+        return dateByShowId.size();
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * One date's shows. Synchronized per segment: writers to different dates never meet.
+     * Once retired (emptied and being unlinked) it refuses further adds.
+     */
+    private static class Segment {
+        private final Map<String, Show> byId = new HashMap<>();
+        private final NavigableMap<LocalDateTime, List<Show>> byStart = new TreeMap<>();
+        private boolean retired;
+
+        private synchronized boolean add(Show show) {
+            if (retired) return false;
+            byId.put(show.getShowId(), show);
+            byStart.computeIfAbsent(show.getStartTime(), t -> new ArrayList<>(1)).add(show);
+            return true;
+        }
+
+        private synchronized boolean isEmpty() {
+            return byId.isEmpty();
+        }
+
+        private synchronized Show get(String showId) {
+            return byId.get(showId);
+        }
+
+        private synchronized Show remove(String showId) {
+            Show show = byId.remove(showId);
+            if (show != null) {
+                List<Show> atStart = byStart.get(show.getStartTime());
+                atStart.remove(show);
+                if (atStart.isEmpty()) {
+                    byStart.remove(show.getStartTime());
+                }
+            }
+            return show;
+        }
+
+        private synchronized void collectBetween(LocalDateTime from, LocalDateTime to, List<Show> out) {
+            for (List<Show> atStart : byStart.subMap(from, true, to, false).values()) {
+                out.addAll(atStart);
+            }
+        }
+
+        private synchronized void collectAll(List<Show> out) {
+            for (List<Show> atStart : byStart.values()) {
+                out.addAll(atStart);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.exceptions.RequestRejectedException;
+import com.lld.bookmyshow.exceptions.SeatNotAvailableException;
+import com.lld.bookmyshow.models.Show;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-show admission queue for hot launches.
+ *
+ * A show with an open room lets booking attempts through at a token-bucket rate
+ * instead of all at once. Each caller reserves its slot up front; if that slot is
+ * further away than maxWait, it is turned away immediately instead of queueing.
+ *
+ * Sold-out shows are rejected before any queueing: the check is one read of the
+ * show's available-seat counter, and callers already waiting re-check it while they
+ * wait, so once the last seat goes the whole queue drains at almost no cost.
+ *
+ * DB Insight: Keeps the thundering herd off the show_seat rows — only as many
+ * transactions reach SELECT ... FOR UPDATE as the room releases per second.
+ */
+public class FlashSaleWaitingRoom {
+    private static final long RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Map<String, Room> rooms;
+
+    public FlashSaleWaitingRoom() {
+        this.rooms = new ConcurrentHashMap<>();
+    }
+
+    public void open(Show show, double releasePerSecond, int burst, Duration maxWait) {
+        rooms.put(show.getShowId(), new Room(new TokenBucket(releasePerSecond, burst), maxWait.toNanos()));
+    }
+
+    public void close(Show show) {
+        rooms.remove(show.getShowId());
+    }
+
+    public boolean isOpen(Show show) {
+        return rooms.containsKey(show.getShowId());
+    }
+
+    /**
+     * Blocks until the caller's turn to book this show. Returns immediately when no room is open.
+     * Throws SeatNotAvailableException when the show is (or becomes) sold out, and
+     * RequestRejectedException when the queue is longer than maxWait.
+     */
+    public void admit(Show show) {
+        Room room = rooms.get(show.getShowId());
+        if (room == null) return;
+        failIfSoldOut(show);
+
+        long wait = room.bucket.tryReserve(room.maxWaitNanos);
+        if (wait < 0) {
+            throw new RequestRejectedException("Waiting room for show " + show.getShowId() + " is full");
+        }
+        room.waiting.incrementAndGet();
+        try {
+            long deadline = System.nanoTime() + wait;
+            for (long remaining = wait; remaining > 0; remaining = deadline - System.nanoTime()) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, RECHECK_NANOS));
+                failIfSoldOut(show);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestRejectedException("Interrupted while waiting for show " + show.getShowId());
+        } finally {
+            room.waiting.decrementAndGet();
+        }
+    }
+
+    public int getWaitingCount(Show show) {
+        Room room = rooms.get(show.getShowId());
+        return room == null ? 0 : room.waiting.get();
+    }
+
+    private static void failIfSoldOut(Show show) {
+        if (show.getAvailableSeatCount() == 0) {
+            throw new SeatNotAvailableException("Show " + show.getShowId() + " is sold out");
+        }
+    }
+
+    private static class Room {
+        private final TokenBucket bucket;
+        private final long maxWaitNanos;
+        private final AtomicInteger waiting;
+
+        private Room(TokenBucket bucket, long maxWaitNanos) {
+            this.bucket = bucket;
+            this.maxWaitNanos = maxWaitNanos;
+            this.waiting = new AtomicInteger();
+        }
+    }
+}
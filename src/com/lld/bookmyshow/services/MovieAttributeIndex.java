@@ -0,0 +1,124 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.models.Movie;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Bitmap indexes over Movie.language and Movie.genre, plus a rating-ordered set.
+ *
+ * Each distinct language/genre value owns a BitSet over movie ordinals.
+ * A filter is OR within an attribute ("Hindi or Telugu") and AND across
+ * attributes ("... and Action"), done word-at-a-time on the bitmaps.
+ * Top-N by rating walks the rating-ordered set from the top and stops after
+ * N matches, so it never sorts the whole catalogue.
+ *
+ * Ordinals are dense (assigned in insertion order), which keeps plain BitSets compact.
+ *
+ * DB Insight: Equivalent to bitmap indexes on the low-cardinality movie.language
+ * and movie.genre columns plus a B-tree on rating DESC for ORDER BY ... LIMIT N.
+ */
+public class MovieAttributeIndex {
+    private final List<Movie> moviesByOrdinal;
+    private final Map<String, Integer> ordinalsById;
+    private final BitSet live;
+    private final Map<String, BitSet> byLanguage;
+    private final Map<String, BitSet> byGenre;
+    private final NavigableSet<Integer> byRating;
+
+    public MovieAttributeIndex() {
+        this.moviesByOrdinal = new ArrayList<>();
+        this.ordinalsById = new HashMap<>();
+        this.live = new BitSet();
+        this.byLanguage = new HashMap<>();
+        this.byGenre = new HashMap<>();
+        this.byRating = new TreeSet<>(
+                Comparator.comparingDouble((Integer ordinal) -> moviesByOrdinal.get(ordinal).getRating())
+                          .reversed()
+                          .thenComparing(Comparator.naturalOrder()));
+    }
+
+    public void add(Movie movie) {
+        Integer previous = ordinalsById.get(movie.getMovieId());
+        if (previous != null) {
+            Movie old = moviesByOrdinal.get(previous);
+            byRating.remove(previous);
+            live.clear(previous);
+            byLanguage.get(key(old.getLanguage())).clear(previous);
+            byGenre.get(key(old.getGenre())).clear(previous);
+        }
+        int ordinal = moviesByOrdinal.size();
+        moviesByOrdinal.add(movie);
+        ordinalsById.put(movie.getMovieId(), ordinal);
+        live.set(ordinal);
+        byLanguage.computeIfAbsent(key(movie.getLanguage()), k -> new BitSet()).set(ordinal);
+        byGenre.computeIfAbsent(key(movie.getGenre()), k -> new BitSet()).set(ordinal);
+        byRating.add(ordinal);
+    }
+
+    /**
+     * Movies matching any of the languages AND any of the genres.
+     * A null or empty collection means "no constraint" on that attribute.
+     */
+    public List<Movie> filter(Collection<String> languages, Collection<String> genres) {
+        BitSet matches = match(languages, genres);
+        List<Movie> results = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            results.add(moviesByOrdinal.get(i));
+        }
+        return results;
+    }
+
+    /**
+     * Highest-rated movies matching the filter, best first, at most limit entries.
+     * limit must be non-negative.
+     */
+    public List<Movie> topRated(Collection<String> languages, Collection<String> genres, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be non-negative: " + limit);
+        }
+        BitSet matches = match(languages, genres);
+        List<Movie> results = new ArrayList<>(Math.min(limit, matches.cardinality()));
+        for (Integer ordinal : byRating) {
+            if (results.size() == limit) break;
+            if (matches.get(ordinal)) {
+                results.add(moviesByOrdinal.get(ordinal));
+            }
+        }
+        return results;
+    }
+
+    private BitSet match(Collection<String> languages, Collection<String> genres) {
+        BitSet result = (BitSet) live.clone();
+        if (languages != null && !languages.isEmpty()) {
+            result.and(union(byLanguage, languages));
+        }
+        if (genres != null && !genres.isEmpty()) {
+            result.and(union(byGenre, genres));
+        }
+        return result;
+    }
+
+    private BitSet union(Map<String, BitSet> index, Collection<String> values) {
+        BitSet union = new BitSet();
+        for (String value : values) {
+            BitSet bits = index.get(key(value));
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+        return union;
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,6 +2,7 @@ package com.lld.bookmyshow.services;
 
 import com.lld.bookmyshow.models.Movie;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,27 +13,49 @@ import java.util.Map;
  */
 public class MovieService {
     private final Map<String, Movie> moviesById;
+    private final MovieTitleIndex titleIndex;
+    private final MovieAttributeIndex attributeIndex;
 
     public MovieService() {
         this.moviesById = new HashMap<>();
+        this.titleIndex = new MovieTitleIndex();
+        this.attributeIndex = new MovieAttributeIndex();
     }
 
     public void addMovie(Movie movie) {
         moviesById.put(movie.getMovieId(), movie);
+        titleIndex.add(movie);
+        attributeIndex.add(movie);
     }
 
     public Movie getMovie(String movieId) {
         return moviesById.get(movieId);
     }
 
+    /**
+     * Case-insensitive substring search, answered from the trigram index.
+     */
     public List<Movie> searchByTitle(String keyword) {
-        List<Movie> results = new ArrayList<>();
-        for (Movie movie : moviesById.values()) {
-            if (movie.getTitle().toLowerCase().contains(keyword.toLowerCase())) {
-                results.add(movie);
-            }
-        }
-        return results;
+        return titleIndex.searchSubstring(keyword);
+    }
+
+    /**
+     * Search-as-you-type: each typed word matches the start of a title word.
+     */
+    public List<Movie> searchByTitlePrefix(String prefix) {
+        return titleIndex.searchPrefix(prefix);
+    }
+
+    /**
+     * Movies in any of the given languages AND any of the given genres.
+     * Pass null or an empty collection to leave an attribute unconstrained.
+     */
+    public List<Movie> filterMovies(Collection<String> languages, Collection<String> genres) {
+        return attributeIndex.filter(languages, genres);
+    }
+
+    public List<Movie> getTopRated(Collection<String> languages, Collection<String> genres, int limit) {
+        return attributeIndex.topRated(languages, genres, limit);
     }
 
     public List<Movie> getAllMovies() {
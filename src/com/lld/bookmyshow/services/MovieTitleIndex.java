@@ -0,0 +1,226 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.models.Movie;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Title search index over the movie catalogue.
+ *
+ * - Trigram index: every 3-code-point window of the normalized title → movie ordinals.
+ *   A substring query intersects the posting lists of its own trigrams, then verifies
+ *   the (few) candidates with contains().
+ * - Token index: sorted map of title words → movie ordinals. Prefix queries
+ *   ("search as you type") are a range read on the map.
+ *
+ * Titles are NFKC-normalized and lower-cased with Locale.ROOT once at insert time.
+ * Tokenizing keeps combining marks, so Devanagari/Telugu/Tamil titles split into
+ * whole words instead of breaking at every vowel sign.
+ *
+ * DB Insight: Equivalent to a pg_trgm GIN index on movie.title plus a
+ * full-text tsvector index — a LIKE '%rr%' scan replaced by posting-list intersection.
+ */
+public class MovieTitleIndex {
+    private static final int GRAM = 3;
+
+    private final List<Movie> moviesByOrdinal;
+    private final List<String> normalizedTitles;
+    private final Map<String, Integer> ordinalsById;
+    private final Map<String, Postings> trigrams;
+    private final NavigableMap<String, Postings> tokens;
+
+    public MovieTitleIndex() {
+        this.moviesByOrdinal = new ArrayList<>();
+        this.normalizedTitles = new ArrayList<>();
+        this.ordinalsById = new HashMap<>();
+        this.trigrams = new HashMap<>();
+        this.tokens = new TreeMap<>();
+    }
+
+    public void add(Movie movie) {
+        Integer previous = ordinalsById.get(movie.getMovieId());
+        if (previous != null) {
+            // Tombstone the old entry; stale postings are filtered at query time.
+            moviesByOrdinal.set(previous, null);
+        }
+        int ordinal = moviesByOrdinal.size();
+        String title = normalize(movie.getTitle());
+        moviesByOrdinal.add(movie);
+        normalizedTitles.add(title);
+        ordinalsById.put(movie.getMovieId(), ordinal);
+
+        int[] codePoints = title.codePoints().toArray();
+        for (int i = 0; i + GRAM <= codePoints.length; i++) {
+            trigrams.computeIfAbsent(new String(codePoints, i, GRAM), g -> new Postings()).add(ordinal);
+        }
+        for (String token : tokenize(title)) {
+            tokens.computeIfAbsent(token, t -> new Postings()).add(ordinal);
+        }
+    }
+
+    /**
+     * Case-insensitive substring match on the title (same semantics as String.contains).
+     */
+    public List<Movie> searchSubstring(String keyword) {
+        String query = normalize(keyword);
+        int[] codePoints = query.codePoints().toArray();
+        if (codePoints.length < GRAM) {
+            return scan(query);
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= codePoints.length; i++) {
+            Postings postings = trigrams.get(new String(codePoints, i, GRAM));
+            if (postings == null) return new ArrayList<>();
+            lists.add(postings);
+        }
+        int[] candidates = Postings.intersect(lists);
+
+        List<Movie> results = new ArrayList<>();
+        for (int ordinal : candidates) {
+            Movie movie = moviesByOrdinal.get(ordinal);
+            if (movie != null && normalizedTitles.get(ordinal).contains(query)) {
+                results.add(movie);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Every query word must be a prefix of some word in the title. "dark kn" matches "The Dark Knight".
+     */
+    public List<Movie> searchPrefix(String prefix) {
+        List<String> queryTokens = tokenize(normalize(prefix));
+        if (queryTokens.isEmpty()) return new ArrayList<>();
+
+        List<Postings> lists = new ArrayList<>();
+        for (String queryToken : queryTokens) {
+            Postings union = new Postings();
+            for (Postings postings : tokens.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).values()) {
+                union.addAll(postings);
+            }
+            if (union.size == 0) return new ArrayList<>();
+            lists.add(union.sortedDistinct());
+        }
+
+        List<Movie> results = new ArrayList<>();
+        for (int ordinal : Postings.intersect(lists)) {
+            Movie movie = moviesByOrdinal.get(ordinal);
+            if (movie != null) {
+                results.add(movie);
+            }
+        }
+        return results;
+    }
+
+    private List<Movie> scan(String query) {
+        List<Movie> results = new ArrayList<>();
+        for (int ordinal = 0; ordinal < moviesByOrdinal.size(); ordinal++) {
+            Movie movie = moviesByOrdinal.get(ordinal);
+            if (movie != null && normalizedTitles.get(ordinal).contains(query)) {
+                results.add(movie);
+            }
+        }
+        return results;
+    }
+
+    static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String normalized) {
+        List<String> result = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            if (isWordChar(codePoint)) {
+                current.appendCodePoint(codePoint);
+            } else if (current.length() > 0) {
+                result.add(current.toString());
+                current.setLength(0);
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (current.length() > 0) {
+            result.add(current.toString());
+        }
+        return result;
+    }
+
+    private static boolean isWordChar(int codePoint) {
+        if (Character.isLetterOrDigit(codePoint)) return true;
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    /**
+     * Growable int list of movie ordinals. Ordinals are appended in increasing order,
+     * so each list is already sorted for merge intersection.
+     */
+    private static class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        private void add(int ordinal) {
+            if (size > 0 && ordinals[size - 1] == ordinal) return;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        private void addAll(Postings other) {
+            if (size + other.size > ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, Math.max(ordinals.length * 2, size + other.size));
+            }
+            System.arraycopy(other.ordinals, 0, ordinals, size, other.size);
+            size += other.size;
+        }
+
+        private Postings sortedDistinct() {
+            Arrays.sort(ordinals, 0, size);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || ordinals[distinct - 1] != ordinals[i]) {
+                    ordinals[distinct++] = ordinals[i];
+                }
+            }
+            size = distinct;
+            return this;
+        }
+
+        /**
+         * Merge-intersects sorted lists, starting from the shortest.
+         */
+        private static int[] intersect(List<Postings> lists) {
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+            int[] result = Arrays.copyOf(lists.get(0).ordinals, lists.get(0).size);
+            int length = result.length;
+            for (int l = 1; l < lists.size() && length > 0; l++) {
+                Postings other = lists.get(l);
+                int kept = 0;
+                int j = 0;
+                for (int i = 0; i < length && j < other.size; ) {
+                    if (result[i] < other.ordinals[j]) {
+                        i++;
+                    } else if (result[i] > other.ordinals[j]) {
+                        j++;
+                    } else {
+                        result[kept++] = result[i];
+                        i++;
+                        j++;
+                    }
+                }
+                length = kept;
+            }
+            return Arrays.copyOf(result, length);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.models.Screen;
+import com.lld.bookmyshow.models.Theatre;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reverse index from screenId to its owning Theatre (and therefore City).
+ * Screen has no back-reference to Theatre, so without this every city filter
+ * has to search each theatre's screen list.
+ *
+ * DB Insight: The in-memory equivalent of the screen.theatre_id foreign key
+ * plus the index on it used by the show → screen → theatre JOIN.
+ */
+public class ScreenRegistry {
+    private final Map<String, Theatre> theatresByScreenId;
+
+    public ScreenRegistry() {
+        this.theatresByScreenId = new HashMap<>();
+    }
+
+    public void register(Theatre theatre, Screen screen) {
+        theatresByScreenId.put(screen.getScreenId(), theatre);
+    }
+
+    public void registerAll(Theatre theatre) {
+        for (Screen screen : theatre.getScreens()) {
+            register(theatre, screen);
+        }
+    }
+
+    public Theatre getTheatre(String screenId) {
+        return theatresByScreenId.get(screenId);
+    }
+
+    public City getCity(String screenId) {
+        Theatre theatre = theatresByScreenId.get(screenId);
+        return theatre == null ? null : theatre.getCity();
+    }
+}
@@ -0,0 +1,194 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.enums.SeatType;
+import com.lld.bookmyshow.models.*;
+import com.lld.bookmyshow.pricing.PricingStrategy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * City-sharded alternative to the BookMyShowService singleton.
+ *
+ * Each City gets its own CityShard (movie/theatre/show/booking services + executor).
+ * Requests scoped to a show or theatre are routed to that city's shard and run on its
+ * executor; cross-city reads (movie search, a user's bookings) fan out to every shard
+ * in parallel and merge the results.
+ *
+ * A movie lives in the shards of the cities it is released in. Each shard runs a single
+ * executor thread, and its movie/theatre/show services (plain HashMaps) are only touched
+ * from that thread. The one other writer is the shard's hold-expiry ticker, which expires
+ * PENDING bookings from its own thread; it only goes through the parts built for that —
+ * the synchronized Booking, the lock-free seat store, and the concurrent booking index
+ * and journal.
+ *
+ * DB Insight: The in-memory equivalent of sharding every table by city_id —
+ * no query for one city ever reads another city's partition.
+ */
+public class ShardedBookMyShowService {
+    private final Map<City, CityShard> shards;
+    private final Map<String, City> cityByScreenId;
+
+    public ShardedBookMyShowService() {
+        this.shards = new EnumMap<>(City.class);
+        for (City city : City.values()) {
+            shards.put(city, new CityShard(city));
+        }
+        this.cityByScreenId = new ConcurrentHashMap<>();
+    }
+
+    // --- Movie operations ---
+    public void addMovie(Movie movie) {
+        addMovie(movie, EnumSet.allOf(City.class));
+    }
+
+    public void addMovie(Movie movie, Set<City> releaseCities) {
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (City city : releaseCities) {
+            CityShard shard = shards.get(city);
+            writes.add(shard.submit(() -> {
+                shard.getMovieService().addMovie(movie);
+                return null;
+            }));
+        }
+        for (CompletableFuture<Void> write : writes) {
+            CityShard.join(write);
+        }
+    }
+
+    public List<Movie> searchMovies(String keyword, City city) {
+        CityShard shard = shards.get(city);
+        return shard.call(() -> shard.getMovieService().searchByTitle(keyword));
+    }
+
+    /**
+     * Fans out to every city shard in parallel and merges, de-duplicating by movieId.
+     */
+    public List<Movie> searchMovies(String keyword) {
+        List<CompletableFuture<List<Movie>>> partials = new ArrayList<>();
+        for (CityShard shard : shards.values()) {
+            partials.add(shard.submit(() -> shard.getMovieService().searchByTitle(keyword)));
+        }
+        Map<String, Movie> merged = new LinkedHashMap<>();
+        for (CompletableFuture<List<Movie>> partial : partials) {
+            for (Movie movie : CityShard.join(partial)) {
+                merged.putIfAbsent(movie.getMovieId(), movie);
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    // --- Theatre operations ---
+    public void addTheatre(Theatre theatre) {
+        CityShard shard = shards.get(theatre.getCity());
+        shard.run(() -> shard.getTheatreService().addTheatre(theatre));
+        for (Screen screen : theatre.getScreens()) {
+            cityByScreenId.put(screen.getScreenId(), theatre.getCity());
+        }
+    }
+
+    /**
+     * Screens added after their theatre must come through here, or shows on them
+     * cannot be routed to a shard.
+     */
+    public void addScreen(Theatre theatre, Screen screen) {
+        CityShard shard = shards.get(theatre.getCity());
+        shard.run(() -> shard.getTheatreService().addScreen(theatre, screen));
+        cityByScreenId.put(screen.getScreenId(), theatre.getCity());
+    }
+
+    public List<Theatre> getTheatresInCity(City city) {
+        CityShard shard = shards.get(city);
+        return shard.call(() -> shard.getTheatreService().getTheatresByCity(city));
+    }
+
+    // --- Show operations ---
+    public void addShow(Show show) {
+        CityShard shard = shardFor(show);
+        shard.run(() -> {
+            show.initializeSeats();
+            shard.getShowService().addShow(show);
+        });
+    }
+
+    public void applyPricing(Show show, PricingStrategy strategy) {
+        CityShard shard = shardFor(show);
+        shard.run(() -> shard.getShowService().applyPricing(show, strategy));
+    }
+
+    public List<Show> getShowsForMovie(Movie movie, City city) {
+        CityShard shard = shards.get(city);
+        return shard.call(() -> shard.getShowService().getShowsForMovieInCity(movie, city));
+    }
+
+    public List<ShowSeat> getAvailableSeats(Show show) {
+        return show.getAvailableSeats();
+    }
+
+    // --- Booking operations ---
+    public Booking bookSeats(User user, Show show, List<ShowSeat> seats) {
+        CityShard shard = shardFor(show);
+        return shard.call(() -> shard.getBookingService().createBooking(user, show, seats));
+    }
+
+    public Booking bookBestAvailable(User user, Show show, SeatType seatType, int count) {
+        CityShard shard = shardFor(show);
+        return shard.call(() -> shard.getBookingService().createBestAvailableBooking(user, show, seatType, count));
+    }
+
+    public void confirmBooking(Booking booking) {
+        CityShard shard = shardFor(booking.getShow());
+        shard.run(() -> shard.getBookingService().confirmBooking(booking.getId()));
+    }
+
+    public void cancelBooking(Booking booking) {
+        CityShard shard = shardFor(booking.getShow());
+        shard.run(() -> shard.getBookingService().cancelBooking(booking.getId()));
+    }
+
+    /**
+     * A user can book in several cities, so this fans out and concatenates.
+     */
+    public List<Booking> getUserBookings(User user) {
+        List<CompletableFuture<List<Booking>>> partials = new ArrayList<>();
+        for (CityShard shard : shards.values()) {
+            partials.add(shard.submit(() -> shard.getBookingService().getBookingsForUser(user)));
+        }
+        List<Booking> merged = new ArrayList<>();
+        for (CompletableFuture<List<Booking>> partial : partials) {
+            merged.addAll(CityShard.join(partial));
+        }
+        return merged;
+    }
+
+    public CityShard getShard(City city) {
+        return shards.get(city);
+    }
+
+    public Collection<CityShard> getShards() {
+        return shards.values();
+    }
+
+    public void shutdown() {
+        for (CityShard shard : shards.values()) {
+            shard.shutdown();
+        }
+    }
+
+    private CityShard shardFor(Show show) {
+        City city = cityByScreenId.get(show.getScreen().getScreenId());
+        if (city == null) {
+            throw new IllegalArgumentException(
+                "Screen " + show.getScreen().getScreenId() + " is not registered with any theatre");
+        }
+        return shards.get(city);
+    }
+}
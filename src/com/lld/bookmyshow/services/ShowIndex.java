@@ -0,0 +1,107 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.models.Show;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * In-memory composite index: movieId → City → show_date → shows sorted by start time.
+ *
+ * DB Insight: Mirrors the composite index on (movie_id, city_id, show_date) from
+ * DATABASE_DESIGN.md, with start_time as a trailing sort key so the
+ * ORDER BY s.start_time comes for free. A lookup costs a few map hops plus the
+ * size of its result, regardless of how many shows exist overall.
+ */
+public class ShowIndex {
+    private static final Comparator<Show> BY_START_TIME =
+            Comparator.comparing(Show::getStartTime).thenComparing(Show::getShowId);
+
+    private final Map<String, Map<City, NavigableMap<LocalDate, List<Show>>>> showsByMovie;
+
+    public ShowIndex() {
+        this.showsByMovie = new HashMap<>();
+    }
+
+    public void add(Show show, City city) {
+        List<Show> bucket = showsByMovie
+                .computeIfAbsent(show.getMovie().getMovieId(), id -> new EnumMap<>(City.class))
+                .computeIfAbsent(city, c -> new TreeMap<>())
+                .computeIfAbsent(show.getStartTime().toLocalDate(), d -> new ArrayList<>());
+        int position = Collections.binarySearch(bucket, show, BY_START_TIME);
+        if (position < 0) {
+            bucket.add(-position - 1, show);
+        }
+    }
+
+    public void remove(Show show, City city) {
+        NavigableMap<LocalDate, List<Show>> byDate = datesFor(show.getMovie().getMovieId(), city);
+        if (byDate == null) return;
+        LocalDate date = show.getStartTime().toLocalDate();
+        List<Show> bucket = byDate.get(date);
+        if (bucket == null) return;
+        int position = Collections.binarySearch(bucket, show, BY_START_TIME);
+        if (position >= 0) {
+            bucket.remove(position);
+            if (bucket.isEmpty()) {
+                byDate.remove(date);
+                if (byDate.isEmpty()) {
+                    Map<City, NavigableMap<LocalDate, List<Show>>> byCity = showsByMovie.get(show.getMovie().getMovieId());
+                    byCity.remove(city);
+                    if (byCity.isEmpty()) {
+                        showsByMovie.remove(show.getMovie().getMovieId());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Shows on a single date, in start-time order.
+     */
+    public List<Show> find(String movieId, City city, LocalDate date) {
+        NavigableMap<LocalDate, List<Show>> byDate = datesFor(movieId, city);
+        if (byDate == null) return Collections.emptyList();
+        List<Show> bucket = byDate.get(date);
+        return bucket == null ? Collections.emptyList() : Collections.unmodifiableList(bucket);
+    }
+
+    /**
+     * Shows between two dates (both inclusive), in start-time order.
+     */
+    public List<Show> find(String movieId, City city, LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, List<Show>> byDate = datesFor(movieId, city);
+        if (byDate == null) return Collections.emptyList();
+        return flatten(byDate.subMap(from, true, to, true));
+    }
+
+    /**
+     * Every show for the movie in the city, in start-time order.
+     */
+    public List<Show> findAll(String movieId, City city) {
+        NavigableMap<LocalDate, List<Show>> byDate = datesFor(movieId, city);
+        if (byDate == null) return Collections.emptyList();
+        return flatten(byDate);
+    }
+
+    private NavigableMap<LocalDate, List<Show>> datesFor(String movieId, City city) {
+        Map<City, NavigableMap<LocalDate, List<Show>>> byCity = showsByMovie.get(movieId);
+        return byCity == null ? null : byCity.get(city);
+    }
+
+    private List<Show> flatten(NavigableMap<LocalDate, List<Show>> byDate) {
+        List<Show> result = new ArrayList<>();
+        for (List<Show> bucket : byDate.values()) {
+            result.addAll(bucket);
+        }
+        return result;
+    }
+}
@@ -1,15 +1,16 @@
 package com.lld.bookmyshow.services;
 
 import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.enums.SeatType;
 import com.lld.bookmyshow.models.Movie;
 import com.lld.bookmyshow.models.Show;
 import com.lld.bookmyshow.models.Theatre;
 import com.lld.bookmyshow.pricing.PricingStrategy;
+import com.lld.bookmyshow.pricing.SeatTypePricingStrategy;
 import com.lld.bookmyshow.models.ShowSeat;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Manages shows (screenings). In production, backed by `show` table.
@@ -18,22 +19,68 @@ import java.util.Map;
  * This is the MOST FREQUENT read query and must be optimized with:
  * - Composite index on (movie_id, city_id, show_date)
  * - Partition by show_date for efficient range scans
+ *
+ * In memory, ShowIndex plays the role of that composite index. The city is
+ * resolved once per show at insert time through the ScreenRegistry, not on every read.
+ * Shows themselves live in a DatePartitionedShowStore, one partition per show_date.
  */
 public class ShowService {
-    private final Map<String, Show> showsById;
+    private final DatePartitionedShowStore showStore;
+    private final ShowIndex showIndex;
     private final TheatreService theatreService;
 
     public ShowService(TheatreService theatreService) {
-        this.showsById = new HashMap<>();
+        this.showStore = new DatePartitionedShowStore();
+        this.showIndex = new ShowIndex();
         this.theatreService = theatreService;
     }
 
     public void addShow(Show show) {
-        showsById.put(show.getShowId(), show);
+        City city = getCity(show);
+        if (city == null) {
+            throw new IllegalArgumentException(
+                "Screen " + show.getScreen().getScreenId() + " is not registered with any theatre");
+        }
+        Show previous = showStore.put(show);
+        if (previous != null) {
+            showIndex.remove(previous, getCity(previous));
+        }
+        showIndex.add(show, city);
+    }
+
+    /**
+     * Resolves the city a show plays in via the screen → theatre registry.
+     */
+    public City getCity(Show show) {
+        Theatre theatre = theatreService.getTheatreForScreen(show.getScreen());
+        return theatre == null ? null : theatre.getCity();
     }
 
     public Show getShow(String showId) {
-        return showsById.get(showId);
+        return showStore.get(showId);
+    }
+
+    public List<Show> getAllShows() {
+        return showStore.getAll();
+    }
+
+    /**
+     * Shows starting in [from, to), in start-time order; reads only those dates' partitions.
+     */
+    public List<Show> getShowsBetween(LocalDateTime from, LocalDateTime to) {
+        return showStore.findBetween(from, to);
+    }
+
+    /**
+     * Retention: drops every show dated before the given date, partition by partition,
+     * and unindexes them. Returns the number of shows dropped.
+     */
+    public int dropShowsBefore(LocalDate date) {
+        List<Show> dropped = showStore.dropBefore(date);
+        for (Show show : dropped) {
+            showIndex.remove(show, getCity(show));
+        }
+        return dropped.size();
     }
 
     /**
@@ -45,25 +92,41 @@ public class ShowService {
      *        ORDER BY s.start_time;
      */
     public List<Show> getShowsForMovieInCity(Movie movie, City city) {
-        List<Show> result = new ArrayList<>();
-        List<Theatre> theatres = theatreService.getTheatresByCity(city);
-        for (Show show : showsById.values()) {
-            if (show.getMovie().getMovieId().equals(movie.getMovieId())) {
-                for (Theatre theatre : theatres) {
-                    if (theatre.getScreens().contains(show.getScreen())) {
-                        result.add(show);
-                        break;
-                    }
-                }
-            }
-        }
-        return result;
+        return showIndex.findAll(movie.getMovieId(), city);
+    }
+
+    public List<Show> getShowsForMovieInCity(Movie movie, City city, LocalDate date) {
+        return showIndex.find(movie.getMovieId(), city, date);
     }
 
+    /**
+     * Shows in a date range (both ends inclusive), ordered by start time.
+     */
+    public List<Show> getShowsForMovieInCity(Movie movie, City city, LocalDate from, LocalDate to) {
+        return showIndex.find(movie.getMovieId(), city, from, to);
+    }
+
+    /**
+     * A SeatTypePricingStrategy prices the show with one table entry per SeatType;
+     * any other strategy is evaluated seat by seat. Either way the new prices are
+     * computed off to the side and published in a single step, so readers never
+     * see a show that is half repriced.
+     */
     public void applyPricing(Show show, PricingStrategy strategy) {
-        for (ShowSeat showSeat : show.getShowSeats()) {
-            double price = strategy.calculatePrice(show, showSeat);
-            showSeat.setPrice(price);
+        if (strategy instanceof SeatTypePricingStrategy) {
+            SeatTypePricingStrategy typeStrategy = (SeatTypePricingStrategy) strategy;
+            double[] table = new double[SeatType.values().length];
+            for (SeatType type : SeatType.values()) {
+                table[type.ordinal()] = typeStrategy.calculatePrice(show, type);
+            }
+            show.getSeatStore().setTypePrices(table);
+            return;
+        }
+        List<ShowSeat> showSeats = show.getShowSeats();
+        double[] prices = new double[showSeats.size()];
+        for (ShowSeat showSeat : showSeats) {
+            prices[showSeat.getOrdinal()] = strategy.calculatePrice(show, showSeat);
         }
+        show.getSeatStore().setSeatPrices(prices);
     }
 }
@@ -1,8 +1,10 @@
 package com.lld.bookmyshow.services;
 
 import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.models.Screen;
 import com.lld.bookmyshow.models.Theatre;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,29 +13,85 @@ import java.util.Map;
  * Manages theatres. In production, backed by `theatre` table.
  * Query pattern: filter by city, paginated listing.
  * Index on (city) for city-based theatre lookup — most common query.
+ *
+ * Theatres are partitioned by City in an EnumMap. Each partition caches an immutable
+ * view that is dropped only when that city's theatres change, so repeated
+ * getTheatresByCity calls hand out the same pre-built list.
  */
 public class TheatreService {
     private final Map<String, Theatre> theatresById;
+    private final Map<City, List<Theatre>> theatresByCity;
+    private final Map<City, List<Theatre>> cityViews;
+    private final ScreenRegistry screenRegistry;
 
     public TheatreService() {
+        this(new ScreenRegistry());
+    }
+
+    public TheatreService(ScreenRegistry screenRegistry) {
         this.theatresById = new HashMap<>();
+        this.theatresByCity = new EnumMap<>(City.class);
+        this.cityViews = new EnumMap<>(City.class);
+        for (City city : City.values()) {
+            theatresByCity.put(city, new ArrayList<>());
+        }
+        this.screenRegistry = screenRegistry;
     }
 
     public void addTheatre(Theatre theatre) {
-        theatresById.put(theatre.getTheatreId(), theatre);
+        Theatre previous = theatresById.put(theatre.getTheatreId(), theatre);
+        if (previous != null) {
+            theatresByCity.get(previous.getCity()).remove(previous);
+            cityViews.remove(previous.getCity());
+        }
+        theatresByCity.get(theatre.getCity()).add(theatre);
+        cityViews.remove(theatre.getCity());
+        screenRegistry.registerAll(theatre);
+    }
+
+    public void addScreen(Theatre theatre, Screen screen) {
+        theatre.addScreen(screen);
+        screenRegistry.register(theatre, screen);
     }
 
     public Theatre getTheatre(String theatreId) {
         return theatresById.get(theatreId);
     }
 
+    public List<Theatre> getAllTheatres() {
+        return new ArrayList<>(theatresById.values());
+    }
+
+    /**
+     * Returns the city's immutable theatre list. Built once after each change to
+     * that city, then reused — no scan, no allocation.
+     */
     public List<Theatre> getTheatresByCity(City city) {
-        List<Theatre> result = new ArrayList<>();
-        for (Theatre theatre : theatresById.values()) {
-            if (theatre.getCity() == city) {
-                result.add(theatre);
+        List<Theatre> view = cityViews.get(city);
+        if (view == null) {
+            view = List.copyOf(theatresByCity.get(city));
+            cityViews.put(city, view);
+        }
+        return view;
+    }
+
+    /**
+     * O(1) via the ScreenRegistry. Falls back to a scan (and registers the hit) only for
+     * screens added directly through Theatre.addScreen() after the theatre was registered.
+     */
+    public Theatre getTheatreForScreen(Screen screen) {
+        Theatre theatre = screenRegistry.getTheatre(screen.getScreenId());
+        if (theatre != null) {
+            return theatre;
+        }
+        for (Theatre candidate : theatresById.values()) {
+            if (candidate.getScreens().contains(screen)) {
+                screenRegistry.register(candidate, screen);
+                return candidate;
             }
         }
-        return result;
+        return null;
     }
+
+    public ScreenRegistry getScreenRegistry() { return screenRegistry; }
 }
@@ -0,0 +1,44 @@
+package com.lld.bookmyshow.services;
+
+/**
+ * Token bucket that hands out reservations instead of yes/no answers.
+ *
+ * Tokens refill at ratePerSecond up to burst. reserve() always succeeds but returns how
+ * long the caller must wait for its token; callers are served strictly in reservation
+ * order, so the bucket doubles as a FIFO queue without holding any waiter objects.
+ */
+public class TokenBucket {
+    private final double intervalNanos;
+    private final double burst;
+    private double storedTokens;
+    private long nextFreeNanos;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.intervalNanos = 1_000_000_000L / ratePerSecond;
+        this.burst = burst;
+        this.storedTokens = burst;
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * Reserves one token if it will be available within maxWaitNanos.
+     * Returns the nanos to wait before using it, or -1 (nothing reserved) if the wait is too long.
+     */
+    public synchronized long tryReserve(long maxWaitNanos) {
+        long now = System.nanoTime();
+        if (now > nextFreeNanos) {
+            storedTokens = Math.min(burst, storedTokens + (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+        long wait = nextFreeNanos - now;
+        if (wait > maxWaitNanos) return -1;
+
+        double fromStored = Math.min(1, storedTokens);
+        storedTokens -= fromStored;
+        nextFreeNanos += (long) ((1 - fromStored) * intervalNanos);
+        return wait;
+    }
+}
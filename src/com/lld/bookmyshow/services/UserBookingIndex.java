@@ -0,0 +1,107 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.enums.BookingStatus;
+import com.lld.bookmyshow.models.Booking;
+import com.lld.bookmyshow.models.BookingStatusListener;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary index userId → BookingStatus → bookings ordered by show start time.
+ * Kept consistent by listening to every Booking status transition.
+ *
+ * DB Insight: The in-memory counterpart of the (user_id, booking_status) index on
+ * `booking`, with show start time as a trailing key so "my upcoming confirmed
+ * bookings" is a range read on one partition.
+ */
+public class UserBookingIndex implements BookingStatusListener {
+    private static final Comparator<Booking> BY_SHOW_START =
+            Comparator.comparing((Booking b) -> b.getShow().getStartTime())
+                      .thenComparingLong(Booking::getId);
+
+    private final Map<String, UserBookings> bookingsByUser;
+
+    public UserBookingIndex() {
+        this.bookingsByUser = new ConcurrentHashMap<>();
+    }
+
+    public void add(Booking booking) {
+        bookingsByUser.computeIfAbsent(booking.getUser().getUserId(), id -> new UserBookings())
+                      .add(booking.getStatus(), booking);
+    }
+
+    @Override
+    public void onStatusChange(Booking booking, BookingStatus from, BookingStatus to) {
+        UserBookings userBookings = bookingsByUser.get(booking.getUser().getUserId());
+        if (userBookings != null) {
+            userBookings.move(booking, from, to);
+        }
+    }
+
+    public List<Booking> getBookings(String userId) {
+        UserBookings userBookings = bookingsByUser.get(userId);
+        return userBookings == null ? new ArrayList<>() : userBookings.all();
+    }
+
+    public List<Booking> getBookings(String userId, BookingStatus status) {
+        UserBookings userBookings = bookingsByUser.get(userId);
+        return userBookings == null ? new ArrayList<>() : userBookings.withStatus(status, null);
+    }
+
+    /**
+     * CONFIRMED bookings whose show starts at or after the given time, soonest first.
+     */
+    public List<Booking> getUpcomingConfirmed(String userId, LocalDateTime from) {
+        UserBookings userBookings = bookingsByUser.get(userId);
+        return userBookings == null ? new ArrayList<>() : userBookings.withStatus(BookingStatus.CONFIRMED, from);
+    }
+
+    private static class UserBookings {
+        private final Map<BookingStatus, NavigableSet<Booking>> byStatus = new EnumMap<>(BookingStatus.class);
+
+        private UserBookings() {
+            for (BookingStatus status : BookingStatus.values()) {
+                byStatus.put(status, new TreeSet<>(BY_SHOW_START));
+            }
+        }
+
+        private synchronized void add(BookingStatus status, Booking booking) {
+            byStatus.get(status).add(booking);
+        }
+
+        private synchronized void move(Booking booking, BookingStatus from, BookingStatus to) {
+            byStatus.get(from).remove(booking);
+            byStatus.get(to).add(booking);
+        }
+
+        private synchronized List<Booking> all() {
+            List<Booking> result = new ArrayList<>();
+            for (NavigableSet<Booking> bookings : byStatus.values()) {
+                result.addAll(bookings);
+            }
+            return result;
+        }
+
+        private synchronized List<Booking> withStatus(BookingStatus status, LocalDateTime from) {
+            NavigableSet<Booking> bookings = byStatus.get(status);
+            if (from == null) {
+                return new ArrayList<>(bookings);
+            }
+            List<Booking> result = new ArrayList<>();
+            for (Booking booking : bookings.descendingSet()) {
+                if (booking.getShow().getStartTime().isBefore(from)) break;
+                result.add(booking);
+            }
+            Collections.reverse(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.lld.bookmyshow.services;
+
+import com.lld.bookmyshow.models.Movie;
+import com.lld.bookmyshow.models.Screen;
+import com.lld.bookmyshow.models.Show;
+import com.lld.bookmyshow.models.Theatre;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copy-on-write catalogue: readers get an immutable CatalogueVersion from a single
+ * volatile read and query it with no locks; writers never touch a published version.
+ *
+ * Writers collect changes in a Batch. publish() builds the next version from the
+ * current one plus the batch, off to the side, then makes it visible with one
+ * reference swap. A reader holding the old version keeps a consistent view until it
+ * asks for current() again. If building fails (e.g. a show on an unknown screen),
+ * nothing is published.
+ *
+ * Each publish rebuilds the indexes, O(catalogue size), so admin changes should be
+ * batched rather than published one at a time. Publishes are serialized.
+ * Callers that only have single changes can stage() them instead: staged changes are
+ * validated at once but published together, by the next publish() or by the first
+ * current() after them. A burst of N staged adds therefore costs one rebuild, not N.
+ *
+ * DB Insight: MVCC for the catalogue tables — readers run against a snapshot and
+ * never block on, or observe half of, an admin transaction.
+ */
+public class VersionedCatalogue {
+    private final AtomicReference<CatalogueVersion> current;
+    private final Set<String> stagedScreenIds = new HashSet<>();
+    private Batch staged;
+    private volatile boolean dirty;
+
+    public VersionedCatalogue() {
+        this.current = new AtomicReference<>(new CatalogueVersion(0, List.of(), List.of(), List.of()));
+    }
+
+    /**
+     * Starts from the contents of existing services as version 1.
+     */
+    public VersionedCatalogue(MovieService movieService, TheatreService theatreService, ShowService showService) {
+        this.current = new AtomicReference<>(new CatalogueVersion(1, movieService.getAllMovies(),
+                theatreService.getAllTheatres(), showService.getAllShows()));
+    }
+
+    /**
+     * The latest version, including anything staged so far. Lock-free unless changes
+     * were staged since the last publish, in which case this call publishes them.
+     */
+    public CatalogueVersion current() {
+        if (dirty) {
+            return publish(new Batch());
+        }
+        return current.get();
+    }
+
+    /**
+     * Queues the batch for the next version without rebuilding anything now.
+     * Shows are checked against known screens here, so a bad show fails its own
+     * stage() call rather than a later reader's publish.
+     */
+    public synchronized void stage(Batch batch) {
+        CatalogueVersion base = current.get();
+        Set<String> batchScreenIds = new HashSet<>();
+        for (Theatre theatre : batch.theatres) {
+            for (Screen screen : theatre.getScreens()) batchScreenIds.add(screen.getScreenId());
+        }
+        for (Show show : batch.shows) {
+            String screenId = show.getScreen().getScreenId();
+            if (!base.hasScreen(screenId) && !stagedScreenIds.contains(screenId) && !batchScreenIds.contains(screenId)) {
+                throw new IllegalArgumentException("Screen " + screenId + " is not registered with any theatre");
+            }
+        }
+        if (staged == null) {
+            staged = new Batch();
+        }
+        staged.addAll(batch);
+        stagedScreenIds.addAll(batchScreenIds);
+        dirty = true;
+    }
+
+    public Batch newBatch() {
+        return new Batch();
+    }
+
+    /**
+     * Publishes everything staged so far followed by the batch, as one new version.
+     */
+    public synchronized CatalogueVersion publish(Batch batch) {
+        CatalogueVersion base = current.get();
+        if (staged == null && batch.isEmpty()) {
+            return base;
+        }
+
+        Map<String, Movie> movies = new LinkedHashMap<>();
+        for (Movie movie : base.getAllMovies()) movies.put(movie.getMovieId(), movie);
+        Map<String, Theatre> theatres = new LinkedHashMap<>();
+        for (Theatre theatre : base.getAllTheatres()) theatres.put(theatre.getTheatreId(), theatre);
+        Map<String, Show> shows = new LinkedHashMap<>();
+        for (Show show : base.getAllShows()) shows.put(show.getShowId(), show);
+
+        if (staged != null) {
+            staged.applyTo(movies, theatres, shows);
+        }
+        batch.applyTo(movies, theatres, shows);
+
+        CatalogueVersion next = new CatalogueVersion(base.getVersion() + 1,
+                movies.values(), theatres.values(), shows.values());
+        current.set(next);
+        clearStaged();
+        return next;
+    }
+
+    /**
+     * Publishes services that were already filled and indexed (e.g. by a parallel
+     * snapshot load) as the next version, adopting them instead of rebuilding.
+     * The caller must not touch the services afterwards. Anything staged is applied on top.
+     */
+    public synchronized CatalogueVersion publish(MovieService movieService, TheatreService theatreService,
+                                                 ShowService showService) {
+        CatalogueVersion next = new CatalogueVersion(current.get().getVersion() + 1,
+                movieService, theatreService, showService);
+        current.set(next);
+        return staged == null ? next : publish(new Batch());
+    }
+
+    private void clearStaged() {
+        staged = null;
+        stagedScreenIds.clear();
+        dirty = false;
+    }
+
+    /**
+     * Pending catalogue changes. Not thread-safe; one writer fills a batch, then publishes it.
+     * A theatre is published together with its screens; to change a published theatre,
+     * add a new Theatre object with the same ID rather than mutating the old one.
+     */
+    public static class Batch {
+        private final List<Movie> movies = new ArrayList<>();
+        private final List<Theatre> theatres = new ArrayList<>();
+        private final List<Show> shows = new ArrayList<>();
+        private final List<String> removedShowIds = new ArrayList<>();
+        private LocalDate removeShowsBefore;
+
+        public Batch addMovie(Movie movie) {
+            movies.add(movie);
+            return this;
+        }
+
+        public Batch addTheatre(Theatre theatre) {
+            theatres.add(theatre);
+            return this;
+        }
+
+        public Batch addShow(Show show) {
+            shows.add(show);
+            return this;
+        }
+
+        public Batch removeShow(String showId) {
+            removedShowIds.add(showId);
+            return this;
+        }
+
+        /**
+         * Retention: drops every show dated before the given date, including any already published.
+         */
+        public Batch removeShowsBefore(LocalDate date) {
+            removeShowsBefore = date;
+            return this;
+        }
+
+        private boolean isEmpty() {
+            return movies.isEmpty() && theatres.isEmpty() && shows.isEmpty()
+                    && removedShowIds.isEmpty() && removeShowsBefore == null;
+        }
+
+        private void addAll(Batch other) {
+            movies.addAll(other.movies);
+            theatres.addAll(other.theatres);
+            shows.addAll(other.shows);
+            removedShowIds.addAll(other.removedShowIds);
+            if (other.removeShowsBefore != null) {
+                removeShowsBefore = other.removeShowsBefore;
+            }
+        }
+
+        /**
+         * Removals first, then additions, so a show re-added in the same batch survives.
+         */
+        private void applyTo(Map<String, Movie> movies, Map<String, Theatre> theatres, Map<String, Show> shows) {
+            for (Movie movie : this.movies) movies.put(movie.getMovieId(), movie);
+            for (Theatre theatre : this.theatres) theatres.put(theatre.getTheatreId(), theatre);
+            for (String showId : removedShowIds) shows.remove(showId);
+            if (removeShowsBefore != null) {
+                shows.values().removeIf(show -> show.getStartTime().toLocalDate().isBefore(removeShowsBefore));
+            }
+            for (Show show : this.shows) {
+                if (show.getSeatStore() == null) {
+                    show.initializeSeats();
+                }
+                shows.put(show.getShowId(), show);
+            }
+        }
+    }
+}
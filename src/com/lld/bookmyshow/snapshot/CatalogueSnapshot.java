@@ -0,0 +1,248 @@
+package com.lld.bookmyshow.snapshot;
+
+import com.lld.bookmyshow.enums.City;
+import com.lld.bookmyshow.enums.SeatType;
+import com.lld.bookmyshow.models.*;
+import com.lld.bookmyshow.services.MovieService;
+import com.lld.bookmyshow.services.ShowService;
+import com.lld.bookmyshow.services.TheatreService;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Compact binary snapshot of the full catalogue (movies, theatres → screens → seats, shows)
+ * for fast cold start.
+ *
+ * Layout: [int magic][int version][long moviesOffset][long theatresOffset][long showsOffset]
+ * followed by the three sections. Strings are [unsigned short length][UTF-8 bytes];
+ * optional ones (movie description, theatre address) are prefixed by a presence byte;
+ * enums are stored by ordinal; times as UTC epoch seconds. A single mapping caps the
+ * file at 2GB.
+ *
+ * Loading memory-maps the file and decodes the movie and theatre sections in parallel,
+ * feeding MovieService and TheatreService on separate threads so their indexes build
+ * concurrently. Shows are decoded once both are done; seat stores are initialized in
+ * parallel, then shows are indexed in ShowService.
+ *
+ * Bookings are not part of the catalogue (see BookingJournal), and seat prices come
+ * back at base price, so pricing strategies must be re-applied after loading.
+ */
+public class CatalogueSnapshot {
+    private static final int MAGIC = 0x424D5343; // "BMSC"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES * 3;
+
+    private CatalogueSnapshot() {
+    }
+
+    public static void write(Path file, Collection<Movie> movies, Collection<Theatre> theatres,
+                             Collection<Show> shows) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+
+            long moviesOffset = HEADER_SIZE;
+            out.writeInt(movies.size());
+            for (Movie movie : movies) {
+                writeString(out, movie.getMovieId());
+                writeString(out, movie.getTitle());
+                writeNullable(out, movie.getDescription());
+                out.writeLong(movie.getDuration().getSeconds());
+                writeString(out, movie.getLanguage());
+                writeString(out, movie.getGenre());
+                out.writeDouble(movie.getRating());
+            }
+
+            long theatresOffset = HEADER_SIZE + out.size();
+            out.writeInt(theatres.size());
+            for (Theatre theatre : theatres) {
+                writeString(out, theatre.getTheatreId());
+                writeString(out, theatre.getName());
+                writeNullable(out, theatre.getAddress());
+                out.writeByte(theatre.getCity().ordinal());
+                out.writeInt(theatre.getScreens().size());
+                for (Screen screen : theatre.getScreens()) {
+                    writeString(out, screen.getScreenId());
+                    writeString(out, screen.getName());
+                    out.writeInt(screen.getSeats().size());
+                    for (Seat seat : screen.getSeats()) {
+                        writeString(out, seat.getSeatId());
+                        out.writeInt(seat.getRowNumber());
+                        out.writeInt(seat.getSeatNumber());
+                        out.writeByte(seat.getSeatType().ordinal());
+                    }
+                }
+            }
+
+            long showsOffset = HEADER_SIZE + out.size();
+            out.writeInt(shows.size());
+            for (Show show : shows) {
+                writeString(out, show.getShowId());
+                writeString(out, show.getMovie().getMovieId());
+                writeString(out, show.getScreen().getScreenId());
+                out.writeLong(show.getStartTime().toEpochSecond(ZoneOffset.UTC));
+                out.writeLong(show.getEndTime().toEpochSecond(ZoneOffset.UTC));
+            }
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION)
+                  .putLong(moviesOffset).putLong(theatresOffset).putLong(showsOffset)
+                  .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Loads the snapshot into empty services. Returns the number of shows loaded.
+     */
+    public static int load(Path file, MovieService movieService, TheatreService theatreService,
+                           ShowService showService) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.getInt(0) != MAGIC || mapped.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new IOException("Not a catalogue snapshot (or unsupported version): " + file);
+        }
+        int moviesOffset = (int) mapped.getLong(Integer.BYTES * 2);
+        int theatresOffset = (int) mapped.getLong(Integer.BYTES * 2 + Long.BYTES);
+        int showsOffset = (int) mapped.getLong(Integer.BYTES * 2 + Long.BYTES * 2);
+
+        CompletableFuture<Map<String, Movie>> movies = CompletableFuture.supplyAsync(() -> {
+            Map<String, Movie> byId = readMovies(section(mapped, moviesOffset));
+            for (Movie movie : byId.values()) {
+                movieService.addMovie(movie);
+            }
+            return byId;
+        });
+        CompletableFuture<Map<String, Screen>> screens = CompletableFuture.supplyAsync(() -> {
+            List<Theatre> theatres = readTheatres(section(mapped, theatresOffset));
+            Map<String, Screen> byId = new HashMap<>();
+            for (Theatre theatre : theatres) {
+                theatreService.addTheatre(theatre);
+                for (Screen screen : theatre.getScreens()) {
+                    // Build the shared layouts here, single-threaded, before shows use them.
+                    screen.getRowLayout();
+                    byId.put(screen.getScreenId(), screen);
+                }
+            }
+            return byId;
+        });
+
+        List<Show> shows = readShows(section(mapped, showsOffset), movies.join(), screens.join());
+        shows.parallelStream().forEach(Show::initializeSeats);
+        for (Show show : shows) {
+            showService.addShow(show);
+        }
+        return shows.size();
+    }
+
+    private static ByteBuffer section(MappedByteBuffer mapped, int offset) {
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(offset);
+        return buffer;
+    }
+
+    private static Map<String, Movie> readMovies(ByteBuffer in) {
+        int count = in.getInt();
+        Map<String, Movie> movies = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String movieId = readString(in);
+            String title = readString(in);
+            String description = readNullable(in);
+            Duration duration = Duration.ofSeconds(in.getLong());
+            String language = readString(in);
+            String genre = readString(in);
+            double rating = in.getDouble();
+            movies.put(movieId, new Movie(movieId, title, description, duration, language, genre, rating));
+        }
+        return movies;
+    }
+
+    private static List<Theatre> readTheatres(ByteBuffer in) {
+        City[] cities = City.values();
+        SeatType[] seatTypes = SeatType.values();
+        int count = in.getInt();
+        List<Theatre> theatres = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Theatre theatre = new Theatre(readString(in), readString(in), readNullable(in), cities[in.get()]);
+            int screenCount = in.getInt();
+            for (int s = 0; s < screenCount; s++) {
+                Screen screen = new Screen(readString(in), readString(in));
+                int seatCount = in.getInt();
+                for (int k = 0; k < seatCount; k++) {
+                    screen.addSeat(new Seat(readString(in), in.getInt(), in.getInt(), seatTypes[in.get()]));
+                }
+                theatre.addScreen(screen);
+            }
+            theatres.add(theatre);
+        }
+        return theatres;
+    }
+
+    private static List<Show> readShows(ByteBuffer in, Map<String, Movie> movies, Map<String, Screen> screens) {
+        int count = in.getInt();
+        List<Show> shows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String showId = readString(in);
+            Movie movie = movies.get(readString(in));
+            Screen screen = screens.get(readString(in));
+            LocalDateTime start = LocalDateTime.ofEpochSecond(in.getLong(), 0, ZoneOffset.UTC);
+            LocalDateTime end = LocalDateTime.ofEpochSecond(in.getLong(), 0, ZoneOffset.UTC);
+            if (movie != null && screen != null) {
+                shows.add(new Show(showId, movie, screen, start, end));
+            }
+        }
+        return shows;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("String too long for snapshot: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * [boolean present][string if present] — description and address are optional.
+     */
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeString(out, value);
+        }
+    }
+
+    private static String readNullable(ByteBuffer in) {
+        return in.get() != 0 ? readString(in) : null;
+    }
+}